@@ -0,0 +1,78 @@
+package com.blog.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Cost of authenticating one request's bearer token:
+ *
+ * - perRequestParsers: the filter before verify(), i.e. three parses (validity,
+ *   user id, username claim), each with a freshly built key and parser
+ * - sharedParser: one parse with the key and parser built at startup
+ * - verifyCached: verify() on a token seen before (SHA-256 + cache lookup)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "SECRET", SECRET);
+        jwtService.init();
+        token = jwtService.generateToken(42L, "bench", "USER");
+        jwtService.verify(token);
+    }
+
+    @Benchmark
+    public void perRequestParsers(Blackhole blackhole) {
+        Claims validity = parseWithNewParser(token);
+        blackhole.consume(validity.getExpiration());
+        blackhole.consume(Long.valueOf(parseWithNewParser(token).getSubject()));
+        blackhole.consume(parseWithNewParser(token).get("username"));
+    }
+
+    @Benchmark
+    public Claims sharedParser() {
+        return jwtService.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return jwtService.verify(token);
+    }
+
+    private static Claims parseWithNewParser(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,72 @@
+package com.blog.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Bean
+    public DeferredRetryPolicy notificationRetryPolicy(
+            @Value("${blog.notifications.async.max-parked:100000}") int maxParked) {
+        return new DeferredRetryPolicy(maxParked);
+    }
+
+    /**
+     * Runs after-commit notification/fan-out work off the request thread.
+     * Bounded queue: when it is full the task is parked and retried shortly
+     * (DeferredRetryPolicy), never run on the publishing thread.
+     */
+    @Bean(name = "notificationExecutor")
+    public ThreadPoolTaskExecutor notificationExecutor(
+            @Value("${blog.notifications.async.pool-size:4}") int poolSize,
+            @Value("${blog.notifications.async.queue-capacity:10000}") int queueCapacity,
+            DeferredRetryPolicy notificationRetryPolicy) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("notify-");
+        executor.setRejectedExecutionHandler(notificationRetryPolicy);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Writes queued SSE events to clients. Separate from notificationExecutor so a
+     * slow client socket never delays notification inserts.
+     */
+    @Bean(name = "streamExecutor")
+    public ThreadPoolTaskExecutor streamExecutor(
+            @Value("${blog.notifications.stream.pool-size:8}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(10_000);
+        executor.setThreadNamePrefix("sse-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Image derivative generation. Small on purpose: decoding is CPU and memory heavy.
+     * Tasks beyond the queue are rejected; MediaDerivativeService.sweep() queues them later.
+     */
+    @Bean(name = "mediaExecutor")
+    public ThreadPoolTaskExecutor mediaExecutor(
+            @Value("${blog.media.derivatives.pool-size:2}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(1_000);
+        executor.setThreadNamePrefix("media-");
+        executor.initialize();
+        return executor;
+    }
+}
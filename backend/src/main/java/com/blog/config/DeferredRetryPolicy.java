@@ -0,0 +1,81 @@
+package com.blog.config;
+
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rejection policy of notificationExecutor: a task that doesn't fit in the queue is
+ * parked and handed to the executor again after a short delay, so the publishing
+ * (request) thread never runs fan-out work itself.
+ *
+ * At most maxParked tasks wait for a retry; rejections beyond that are dropped and
+ * logged. Parked tasks live in memory only, like the queued ones.
+ */
+public class DeferredRetryPolicy implements RejectedExecutionHandler, AutoCloseable {
+
+    private static final long RETRY_DELAY_MS = 200;
+
+    private final ScheduledExecutorService retrier = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "notify-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final int maxParked;
+    private final AtomicInteger parked = new AtomicInteger();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public DeferredRetryPolicy(int maxParked) {
+        this.maxParked = maxParked;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            drop();
+            return;
+        }
+        if (parked.incrementAndGet() > maxParked) {
+            parked.decrementAndGet();
+            drop();
+            return;
+        }
+        try {
+            retrier.schedule(() -> {
+                parked.decrementAndGet();
+                retried.incrementAndGet();
+                executor.execute(task); // rejected again: parked again
+            }, RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            parked.decrementAndGet();
+            drop();
+        }
+    }
+
+    public Map<String, Long> stats() {
+        return Map.of(
+                "parked", (long) parked.get(),
+                "retried", retried.get(),
+                "dropped", dropped.get());
+    }
+
+    @Override
+    public void close() {
+        int pending = retrier.shutdownNow().size();
+        if (pending > 0) {
+            System.err.println("notificationExecutor: " + pending + " parked tasks discarded at shutdown");
+        }
+    }
+
+    private void drop() {
+        long total = dropped.incrementAndGet();
+        System.err.println("notificationExecutor saturated, task dropped (" + total + " so far)");
+    }
+}
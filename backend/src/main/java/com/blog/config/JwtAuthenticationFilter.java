@@ -5,7 +5,7 @@ import java.time.LocalDateTime;
 import java.util.Map;
 
 import com.blog.entity.UserEntity;
-import com.blog.repository.UserRepository;
+import com.blog.service.UserCacheService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.JwtException;
 
@@ -28,7 +28,8 @@ import lombok.RequiredArgsConstructor;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final UserCacheService userCacheService;
+    private final TokenRevocationRegistry revocationRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -46,50 +47,65 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String token = authHeader.substring(7);
 
-            // ✅ Validate signature/exp/jti/sub
-            if (!jwtService.isTokenValid(token)) {
-                throw new JwtException("Invalid token");
+            // ✅ Validate signature/exp/jti/sub (parsed once, cached until exp)
+            VerifiedToken verified = jwtService.verify(token);
+
+            // ✅ Logged-out tokens (jti revoked until expiry)
+            if (revocationRegistry.isRevoked(verified.jti())) {
+                throw new JwtException("Token revoked");
             }
 
             // ✅ subject = userId
-            Long userId = jwtService.extractUserId(token);
+            Long userId = verified.userId();
 
             if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                UserEntity userEntity = userRepository.findById(userId)
-                        .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userId));
-
-                if (userEntity.getBanned()) {
-                    response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-                    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-
-                    Map<String, Object> body = Map.of(
-                            "timestamp", LocalDateTime.now().toString(),
-                            "status", 403,
-                            "error", "Forbidden",
-                            "message", "Your account is banned");
-
-                    new ObjectMapper().writeValue(response.getOutputStream(), body);
-                    return;
-                }
-
-                // ✅ Optional: ensure username claim still matches DB (if claim exists)
-                String usernameClaim = jwtService.extractUsername(token);
-                if (usernameClaim != null && !usernameClaim.equals(userEntity.getUsername())) {
-                    throw new JwtException("Token username mismatch");
+                String username;
+                String role;
+
+                if (revocationRegistry.isStateless()) {
+                    // ✅ Stateless: signed claims + in-memory ban/delete bitmaps, no DB hit
+                    if (!revocationRegistry.exists(userId)) {
+                        throw new UsernameNotFoundException("User not found: " + userId);
+                    }
+                    if (revocationRegistry.isBanned(userId)) {
+                        writeBanned(response);
+                        return;
+                    }
+                    username = verified.username();
+                    role = verified.role();
+                } else {
+                    // ✅ cached lookup (evicted on ban/unban/delete)
+                    UserEntity userEntity = userCacheService.findById(userId)
+                            .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userId));
+
+                    if (Boolean.TRUE.equals(userEntity.getBanned())) {
+                        writeBanned(response);
+                        return;
+                    }
+
+                    // ✅ Optional: ensure username claim still matches DB (if claim exists)
+                    String usernameClaim = verified.username();
+                    if (usernameClaim != null && !usernameClaim.equals(userEntity.getUsername())) {
+                        throw new JwtException("Token username mismatch");
+                    }
+
+                    username = userEntity.getUsername();
+                    role = userEntity.getRole();
                 }
 
                 // ✅ Role -> Spring authority (IMPORTANT)
                 // Spring's hasRole("ADMIN") expects "ROLE_ADMIN"
-                String roleDb = (userEntity.getRole() == null || userEntity.getRole().isBlank())
+                String roleValue = (role == null || role.isBlank())
                         ? "USER"
-                        : userEntity.getRole().trim();
+                        : role.trim();
 
-                String authority = roleDb.startsWith("ROLE_") ? roleDb : "ROLE_" + roleDb;
+                String authority = roleValue.startsWith("ROLE_") ? roleValue : "ROLE_" + roleValue;
 
                 // ✅ Build Spring Security UserDetails for SecurityContext
-                var userDetails = User.withUsername(userEntity.getUsername())
-                        .password(userEntity.getPassword() == null ? "" : userEntity.getPassword())
+                // (already authenticated by the token, the password hash is not needed)
+                var userDetails = User.withUsername(username)
+                        .password("")
                         .authorities(authority)
                         .build();
 
@@ -117,4 +133,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             new ObjectMapper().writeValue(response.getOutputStream(), body);
         }
     }
+
+    private void writeBanned(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        Map<String, Object> body = Map.of(
+                "timestamp", LocalDateTime.now().toString(),
+                "status", 403,
+                "error", "Forbidden",
+                "message", "Your account is banned");
+
+        new ObjectMapper().writeValue(response.getOutputStream(), body);
+    }
 }
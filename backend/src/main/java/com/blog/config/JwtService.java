@@ -2,6 +2,7 @@ package com.blog.config;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -10,12 +11,23 @@ import org.springframework.beans.factory.annotation.Value;
 // import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import jakarta.annotation.PostConstruct;
+
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.UUID;
 
+import javax.crypto.SecretKey;
+
 @Service
 public class JwtService {
 
@@ -29,8 +41,45 @@ public class JwtService {
 
     private static final long EXPIRATION_MS = 1000L * 60 * 60 * 24; // 24h
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    // Recently verified tokens, keyed by SHA-256 of the token, each kept until its exp
+    private static final int VERIFIED_CACHE_SIZE = 10_000;
+
+    // Built once: the key never changes and JwtParser is immutable / thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    private final Cache<String, VerifiedToken> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(VERIFIED_CACHE_SIZE)
+            .expireAfter(new Expiry<String, VerifiedToken>() {
+                @Override
+                public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                    return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, VerifiedToken token, long currentTime,
+                        long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String key, VerifiedToken token, long currentTime,
+                        long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    private SecretKey getSigningKey() {
+        return signingKey;
     }
 
     // ─────────────────────────────────────────────
@@ -59,75 +108,66 @@ public class JwtService {
     // Throws JwtException if invalid/expired/bad signature
     // ─────────────────────────────────────────────
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    public String extractRole(String token) {
-        Object role = extractAllClaims(token).get("role");
-        return role == null ? null : role.toString();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     // ─────────────────────────────────────────────
-    // ✅ Extractors
+    // ✅ Single-parse verification (used per request)
+    // Checks signature, exp, sub and jti once and returns everything the
+    // filter needs. Throws JwtException if the token is not acceptable.
     // ─────────────────────────────────────────────
-    public String extractUsername(String token) {
-        // If you generate using userId subject, username is in claim
-        Object claim = extractAllClaims(token).get("username");
-        if (claim != null)
-            return claim.toString();
-
-        // fallback for old tokens where sub=username
-        return extractAllClaims(token).getSubject();
-    }
-
-    public Long extractUserId(String token) {
-        // Works only for new tokens where sub=userId
-        String sub = extractAllClaims(token).getSubject();
-        return Long.valueOf(sub);
-    }
-
-    public String extractJti(String token) {
-        return extractAllClaims(token).getId();
-    }
+    public VerifiedToken verify(String token) {
+        String key = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
 
-    public boolean isExpired(String token) {
-        Date exp = extractAllClaims(token).getExpiration();
-        return exp == null || exp.before(new Date());
+        VerifiedToken verified = parseAndCheck(token);
+        verifiedTokens.put(key, verified);
+        return verified;
     }
 
-    // ─────────────────────────────────────────────
-    // ✅ Validation
-    // - signature valid
-    // - not expired
-    // - has sub
-    // - has jti
-    // - (optional) username claim matches userDetails (if present)
-    // NOTE: This does NOT implement revocation storage (DB).
-    // For revocation, also verify jti exists and not revoked.
-    // ─────────────────────────────────────────────
-    public boolean isTokenValid(String token) {
+    private VerifiedToken parseAndCheck(String token) {
+        Claims claims;
         try {
-            Claims claims = extractAllClaims(token);
+            claims = extractAllClaims(token);
+        } catch (IllegalArgumentException e) {
+            throw new JwtException("Invalid token");
+        }
 
-            String sub = claims.getSubject();
-            if (sub == null || sub.isBlank())
-                return false;
+        String sub = claims.getSubject();
+        String jti = claims.getId();
+        Date exp = claims.getExpiration();
+        if (sub == null || sub.isBlank() || jti == null || jti.isBlank()
+                || exp == null || exp.before(new Date())) {
+            throw new JwtException("Invalid token");
+        }
 
-            String jti = claims.getId();
-            if (jti == null || jti.isBlank())
-                return false;
+        Long userId;
+        try {
+            userId = Long.valueOf(sub);
+        } catch (NumberFormatException e) {
+            throw new JwtException("Invalid token subject");
+        }
 
-            Date exp = claims.getExpiration();
-            if (exp == null || exp.before(new Date()))
-                return false;
+        Object username = claims.get("username");
+        Object role = claims.get("role");
+        return new VerifiedToken(
+                userId,
+                username == null ? sub : username.toString(),
+                role == null ? null : role.toString(),
+                jti,
+                exp.toInstant());
+    }
 
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
@@ -0,0 +1,47 @@
+package com.blog.config;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * likes had no unique (blog_id, user_id), so racing toggles could store a like twice,
+ * and ddl-auto can't add uk_likes_blog_user while such duplicates exist. This step
+ * keeps the oldest row of each pair and adds the constraint; like_count is corrected
+ * by the next CounterReconciliationJob run.
+ */
+@Component
+@Order(1)
+public class LikeUniqueness implements SchemaMigration {
+
+    // pg_advisory_xact_lock key, so only one instance deduplicates
+    private static final long MIGRATION_LOCK = 7_300_217L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public LikeUniqueness(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void migrate() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, MIGRATION_LOCK);
+            Boolean present = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_likes_blog_user')", Boolean.class);
+            if (!Boolean.TRUE.equals(present)) {
+                int removed = jdbcTemplate.update("DELETE FROM likes l USING likes d "
+                        + "WHERE l.blog_id = d.blog_id AND l.user_id = d.user_id AND l.id > d.id");
+                if (removed > 0) {
+                    System.err.println("Removed " + removed + " duplicate likes before adding uk_likes_blog_user");
+                }
+                jdbcTemplate.execute("ALTER TABLE likes ADD CONSTRAINT uk_likes_blog_user UNIQUE (blog_id, user_id)");
+            }
+            // Covered by the unique index
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_likes_blog_user");
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package com.blog.config;
+
+/**
+ * An idempotent schema step that ddl-auto can't express (sequence positions,
+ * partitioning, triggers, ...).
+ *
+ * Steps are run by {@link SchemaMigrations} in @Order order, after Hibernate has
+ * updated the schema and before the web server and schedulers start.
+ */
+public interface SchemaMigration {
+
+    void migrate();
+}
@@ -0,0 +1,31 @@
+package com.blog.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Runs every {@link SchemaMigration} while the context is being created.
+ *
+ * Singletons are initialized before Tomcat is started and before @Scheduled tasks
+ * are registered, so no request or job sees a schema that is only half migrated.
+ * A failing step fails the startup.
+ */
+@Component
+public class SchemaMigrations implements InitializingBean {
+
+    private final List<SchemaMigration> migrations;
+
+    // The EntityManagerFactory is only taken so that ddl-auto has run before the steps
+    public SchemaMigrations(EntityManagerFactory entityManagerFactory, List<SchemaMigration> migrations) {
+        this.migrations = migrations;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        migrations.forEach(SchemaMigration::migrate);
+    }
+}
@@ -2,8 +2,11 @@ package com.blog.config;
 
 import java.util.Arrays;
 
+import jakarta.servlet.DispatcherType;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -34,7 +37,11 @@ public class SecurityConfig {
       .cors(cors -> cors.configurationSource(corsConfigurationSource())) // Enable CORS
 
       .authorizeHttpRequests(auth -> auth
+        // async re-dispatch of an already authorized SSE stream
+        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
         .requestMatchers("/auth/**", "/uploads/**").permitAll()
+        // authenticated by a stream ticket in the controller (EventSource sends no headers)
+        .requestMatchers(HttpMethod.GET, "/notifications/stream").permitAll()
         .requestMatchers("/admin/**").hasRole("ADMIN")
         .anyRequest().authenticated()
       )
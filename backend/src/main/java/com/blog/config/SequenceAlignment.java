@@ -0,0 +1,42 @@
+package com.blog.config;
+
+import java.util.Map;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * These tables used IDENTITY ids before. Move each sequence past the current
+ * max(id) so the first pooled block (value - 49 .. value) can't hit existing rows.
+ * Runs as a schema migration, so no insert can draw from a sequence that was not
+ * moved yet.
+ */
+@Component
+@Order(0)
+public class SequenceAlignment implements SchemaMigration {
+
+    // table -> pooled sequence (allocationSize 50 on the entity)
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "notifications", "notifications_seq",
+            "likes", "likes_seq",
+            "comments", "comments_seq",
+            "follows", "follows_seq");
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenceAlignment(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void migrate() {
+        SEQUENCES.forEach((table, sequence) -> jdbcTemplate.queryForObject(
+                "SELECT setval('" + sequence + "', GREATEST("
+                        + "(SELECT COALESCE(MAX(id), 0) FROM " + table + ") + " + ALLOCATION_SIZE + ", "
+                        + "(SELECT last_value FROM " + sequence + ")))",
+                Long.class));
+    }
+}
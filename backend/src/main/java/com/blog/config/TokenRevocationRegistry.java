@@ -0,0 +1,204 @@
+package com.blog.config;
+
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.blog.event.UserBannedEvent;
+import com.blog.event.UserDeletedEvent;
+import com.blog.event.UserUnbannedEvent;
+import com.blog.repository.RevokedTokenRepository;
+import com.blog.repository.UserRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory view used by the JWT filter:
+ * - existing / banned user ids as bitmaps (copy-on-write, lock-free reads), for the
+ *   stateless path only (blog.security.jwt.stateless=true)
+ * - revoked jti values until their token expires, persisted in revoked_tokens
+ *
+ * Both are loaded while the context is created, before the web server serves a
+ * request. Bitmaps are updated by moderation events after commit and reloaded on a
+ * schedule; a reload is merged, so an event that arrives while it reads keeps its
+ * effect. Unknown ids above the last loaded maximum (users registered since) are
+ * resolved from the database and added.
+ *
+ * A logout is visible at once on the instance that handled it and on the others
+ * after their next refresh (blog.security.jwt.revocation-refresh-ms).
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    // maxId: highest id of the last database load; ids above it may be missing from the bitmaps
+    private record Snapshot(BitSet existing, BitSet banned, long maxId) {}
+
+    private final UserRepository userRepository;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final boolean stateless;
+
+    private volatile Snapshot snapshot = new Snapshot(new BitSet(), new BitSet(), 0);
+    private final Map<String, Instant> revokedJtis = new ConcurrentHashMap<>();
+    // Ids changed by events while a load reads the database (null when none runs)
+    private BitSet changedDuringLoad;
+
+    public TokenRevocationRegistry(
+            UserRepository userRepository,
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${blog.security.jwt.stateless:false}") boolean stateless) {
+        this.userRepository = userRepository;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.stateless = stateless;
+    }
+
+    public boolean isStateless() {
+        return stateless;
+    }
+
+    // ─────────────────────────────────────────────
+    // ✅ Reads (hot path, no locking)
+    // ─────────────────────────────────────────────
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        Instant expiresAt = revokedJtis.get(jti);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+
+    public boolean exists(Long userId) {
+        if (!fitsBitmap(userId)) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        boolean known = current.existing().get(userId.intValue());
+        if (!known && userId > current.maxId()) {
+            return resolveNewUser(userId);
+        }
+        return known;
+    }
+
+    public boolean isBanned(Long userId) {
+        return fitsBitmap(userId) && snapshot.banned().get(userId.intValue());
+    }
+
+    // ─────────────────────────────────────────────
+    // ✅ Writes
+    // ─────────────────────────────────────────────
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti != null && expiresAt != null) {
+            revokedTokenRepository.revoke(jti, expiresAt);
+            revokedJtis.put(jti, expiresAt);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBanned(UserBannedEvent event) {
+        update(event.userId(), true, true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUnbanned(UserUnbannedEvent event) {
+        update(event.userId(), true, false);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeleted(UserDeletedEvent event) {
+        update(event.userId(), false, false);
+    }
+
+    // Singletons are initialized before Tomcat starts, so no request sees an empty view
+    @PostConstruct
+    void init() {
+        loadRevokedTokens();
+        load();
+    }
+
+    // Picks up changes made by other instances and drops expired jti entries
+    @Scheduled(initialDelayString = "${blog.security.jwt.revocation-refresh-ms:60000}",
+            fixedDelayString = "${blog.security.jwt.revocation-refresh-ms:60000}")
+    public void refresh() {
+        Instant now = Instant.now();
+        revokedJtis.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        revokedTokenRepository.deleteExpired(now);
+        loadRevokedTokens();
+        load();
+    }
+
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+    private void loadRevokedTokens() {
+        revokedTokenRepository.findLive(Instant.now())
+                .forEach(token -> revokedJtis.put(token.getJti(), token.getExpiresAt()));
+    }
+
+    private void load() {
+        if (!stateless) {
+            return;
+        }
+        synchronized (this) {
+            changedDuringLoad = new BitSet();
+        }
+        List<Long> ids = userRepository.findAllIds();
+        List<Long> bannedIds = userRepository.findBannedIds();
+
+        BitSet existing = new BitSet();
+        BitSet banned = new BitSet();
+        long maxId = 0;
+        for (Long id : ids) {
+            if (fitsBitmap(id)) {
+                existing.set(id.intValue());
+                maxId = Math.max(maxId, id);
+            }
+        }
+        for (Long id : bannedIds) {
+            if (fitsBitmap(id)) {
+                banned.set(id.intValue());
+            }
+        }
+        synchronized (this) {
+            // Events applied meanwhile are newer than what was read: keep their bits
+            Snapshot current = snapshot;
+            BitSet changed = changedDuringLoad;
+            for (int id = changed.nextSetBit(0); id >= 0; id = changed.nextSetBit(id + 1)) {
+                existing.set(id, current.existing().get(id));
+                banned.set(id, current.banned().get(id));
+            }
+            snapshot = new Snapshot(existing, banned, maxId);
+            changedDuringLoad = null;
+        }
+    }
+
+    private boolean resolveNewUser(Long userId) {
+        var user = userRepository.findById(userId);
+        user.ifPresent(u -> update(u.getId(), true, Boolean.TRUE.equals(u.getBanned())));
+        return user.isPresent();
+    }
+
+    private synchronized void update(Long userId, boolean exists, boolean banned) {
+        if (!fitsBitmap(userId)) {
+            return;
+        }
+        Snapshot current = snapshot;
+        BitSet existing = (BitSet) current.existing().clone();
+        BitSet bannedIds = (BitSet) current.banned().clone();
+        existing.set(userId.intValue(), exists);
+        bannedIds.set(userId.intValue(), banned);
+        if (changedDuringLoad != null) {
+            changedDuringLoad.set(userId.intValue());
+        }
+        snapshot = new Snapshot(existing, bannedIds, current.maxId());
+    }
+
+    private static boolean fitsBitmap(Long userId) {
+        return userId != null && userId > 0 && userId <= Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,12 @@
+package com.blog.config;
+
+import java.time.Instant;
+
+// Result of a single signature/expiry check of a bearer token
+public record VerifiedToken(
+        Long userId,
+        String username,
+        String role,
+        String jti,
+        Instant expiresAt
+) {}
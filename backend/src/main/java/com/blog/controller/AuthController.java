@@ -8,6 +8,7 @@ import com.blog.repository.UserRepository;
 import com.blog.service.AuthService;
 import com.blog.service.UserService;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
 
 import lombok.RequiredArgsConstructor;
@@ -39,4 +40,13 @@ public class AuthController {
         userService.register(request);
         return ApiResponse.from(201, "User registered successfully", null);
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Object> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new JwtException("Missing token");
+        }
+        authService.logout(authHeader.substring(7));
+        return ApiResponse.from(200, "User logged out successfully", null);
+    }
 }
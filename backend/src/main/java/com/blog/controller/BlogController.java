@@ -3,16 +3,28 @@ package com.blog.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.http.MediaType;
 
 import com.blog.dto.ApiResponse;
 
+import com.blog.dto.BlogPageResponse;
 import com.blog.dto.BlogResponse;
+import com.blog.dto.BlogSearchPageResponse;
+import com.blog.dto.UploadedBlogRequest;
+import com.blog.helper.ConditionalGet;
+import com.blog.service.BlogPayloadCache;
+import com.blog.service.BlogSearchService;
 import com.blog.service.BlogService;
+import com.blog.service.BlogUploadStreamService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/blogs")
@@ -20,9 +32,30 @@ public class BlogController {
     @Autowired
     private BlogService blogService;
 
+    @Autowired
+    private BlogUploadStreamService blogUploadStreamService;
+
+    @Autowired
+    private BlogPayloadCache blogPayloadCache;
+
+    @Autowired
+    private BlogSearchService blogSearchService;
+
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getBlog(@PathVariable Long id) {
-        return ApiResponse.from(200, "Blog Received successfully", blogService.getBlogDetails(id));
+    public ResponseEntity<Object> getBlog(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            ServletWebRequest webRequest) {
+        BlogResponse blog = blogService.getBlogDetails(id);
+        // ✅ The cached blog is enough to answer a refresh with 304
+        if (ConditionalGet.notModified(webRequest, ConditionalGet.of(blog))) {
+            return null;
+        }
+        if (blogPayloadCache.isEnabled()) {
+            // ✅ Pre-encoded JSON (or gzip) bytes, no serialization on a hit
+            return blogPayloadCache.response(blog, "Blog Received successfully", acceptEncoding);
+        }
+        return ApiResponse.from(200, "Blog Received successfully", blog);
     }
 
     @GetMapping("/user/{userId}")
@@ -30,10 +63,22 @@ public class BlogController {
             @PathVariable Long userId, // profile owner ID
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            Authentication authentication // ✅ Add this
+            @RequestParam(required = false) String after, // ✅ cursor mode when present ("" = first page)
+            Authentication authentication, // ✅ Add this
+            ServletWebRequest webRequest
     ) {
         String currentUsername = authentication.getName(); // current logged-in user
+        if (after != null) {
+            BlogPageResponse blogPage = blogService.getUserBlogsAfter(userId, currentUsername, after, size);
+            if (ConditionalGet.notModified(webRequest, ConditionalGet.ofPage(blogPage.blogs(), blogPage.nextCursor()))) {
+                return null;
+            }
+            return ApiResponse.from(200, "User blogs", blogPage);
+        }
         List<BlogResponse> blogs = blogService.getUserBlogs(userId, currentUsername, page, size);
+        if (ConditionalGet.notModified(webRequest, ConditionalGet.ofPage(blogs, null))) {
+            return null;
+        }
         return ApiResponse.from(200, "User blogs", blogs);
     }
 
@@ -41,12 +86,35 @@ public class BlogController {
     public ResponseEntity<Object> getFollowingBlogs(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            Authentication authentication) {
+            @RequestParam(required = false) String after, // ✅ cursor mode when present ("" = first page)
+            Authentication authentication,
+            ServletWebRequest webRequest) {
         String username = authentication.getName(); // current user [web:211]
+        // Pages merge fan-out-on-read rows, so the page itself is the version probe:
+        // a 304 skips serialization and the body
+        if (after != null) {
+            BlogPageResponse blogPage = blogService.getFollowingBlogsAfter(username, after, size);
+            if (ConditionalGet.notModified(webRequest, ConditionalGet.ofPage(blogPage.blogs(), blogPage.nextCursor()))) {
+                return null;
+            }
+            return ApiResponse.from(200, "Following blogs", blogPage);
+        }
         List<BlogResponse> blogs = blogService.getFollowingBlogs(username, page, size);
+        if (ConditionalGet.notModified(webRequest, ConditionalGet.ofPage(blogs, null))) {
+            return null;
+        }
         return ApiResponse.from(200, "Following blogs", blogs);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<Object> searchBlogs(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "") String after, // ✅ nextCursor of the previous page
+            @RequestParam(defaultValue = "10") int size) {
+        BlogSearchPageResponse results = blogSearchService.search(q, after, size);
+        return ApiResponse.from(200, "Search results", results);
+    }
+
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<Object> createBlog(
             @RequestPart("title") String title,
@@ -65,6 +133,31 @@ public class BlogController {
         return ApiResponse.from(200, "Blog Created successfully", blog);
     }
 
+    // ✅ Same as POST /blogs, but media parts are streamed to disk as they arrive
+    // (larger per-file limit: blog.media.stream.max-file-size)
+    @PostMapping(path = "/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Object> createBlogStreaming(
+            HttpServletRequest request,
+            Authentication authentication) {
+
+        BlogResponse blog = blogUploadStreamService.createBlog(request, authentication.getName());
+        return ApiResponse.from(200, "Blog Created successfully", blog);
+    }
+
+    // ✅ Media already uploaded through POST /media/uploads (object store backend)
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> createBlogFromUploads(
+            @Valid @RequestBody UploadedBlogRequest request,
+            Authentication authentication) {
+
+        BlogResponse blog = blogService.createBlogFromUploads(
+                request.title(),
+                request.content(),
+                request.mediaPaths(),
+                authentication.getName());
+        return ApiResponse.from(200, "Blog Created successfully", blog);
+    }
+
     @PutMapping(value = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<Object> updateBlog(
             @PathVariable Long id,
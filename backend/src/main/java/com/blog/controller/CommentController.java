@@ -6,6 +6,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import com.blog.dto.ApiResponse;
+import com.blog.dto.CommentPageResponse;
 import com.blog.dto.CommentRequest;
 import com.blog.dto.CommentResponse;
 import com.blog.service.CommentService;
@@ -33,11 +34,27 @@ public class CommentController {
     }
 
     @GetMapping("/blogs/{blogId}")
-    public ResponseEntity<List<CommentResponse>> getCommentsByBlogId(@PathVariable Long blogId) {
+    public ResponseEntity<Object> getCommentsByBlogId(
+            @PathVariable Long blogId,
+            @RequestParam(required = false) String after, // ✅ cursor mode when present ("" = first page)
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean threaded) { // ✅ top-level only, with replyCount
+        if (after != null) {
+            CommentPageResponse page = commentService.getCommentsAfter(blogId, after, size, threaded);
+            return ResponseEntity.ok(page);
+        }
         List<CommentResponse> comments = commentService.getCommentsByBlogId(blogId);
         return ResponseEntity.ok(comments);
     }
 
+    @GetMapping("/{commentId}/replies")
+    public ResponseEntity<CommentPageResponse> getReplies(
+            @PathVariable Long commentId,
+            @RequestParam(defaultValue = "") String after,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(commentService.getRepliesAfter(commentId, after, size));
+    }
+
     @DeleteMapping("/{commentId}")
     public ResponseEntity<Object> deleteComment(
             @PathVariable Long commentId,
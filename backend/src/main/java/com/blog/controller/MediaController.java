@@ -0,0 +1,223 @@
+package com.blog.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.blog.dto.ApiResponse;
+import com.blog.dto.UploadRequest;
+import com.blog.exception.ResourceNotFoundException;
+import com.blog.service.MediaStorageService;
+import com.blog.service.storage.MediaStorageBackend;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+
+/**
+ * Serves /uploads/** (replaces the static resource handler).
+ *
+ * - strong ETag from the file name (sha256 for content-addressed files, UUID for
+ *   older ones), 304 on If-None-Match
+ * - single byte ranges (206 / 416, If-Range), so video seeking fetches only what is played
+ * - immutable cache headers: a name never gets different content
+ * - the body is handed to Tomcat's sendfile when the connector supports it,
+ *   otherwise copied with FileChannel.transferTo
+ *
+ * With an object store backend, requests are redirected to the store instead.
+ */
+@RestController
+public class MediaController {
+
+    private static final Path ROOT = Paths.get("uploads").toAbsolutePath().normalize();
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    // Shorter than the pre-signed URL lifetime (blog.media.s3.presign-ttl-seconds)
+    private static final String REDIRECT_CACHE_CONTROL = "public, max-age=300";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private record Range(long start, long end) {
+        long length() {
+            return end - start + 1;
+        }
+    }
+
+    @Autowired
+    private MediaStorageBackend mediaStorageBackend;
+
+    @Autowired
+    private MediaStorageService mediaStorageService;
+
+    // ✅ Direct upload: pre-signed PUT to the object store, then POST /blogs (JSON) with the path
+    @PostMapping("/media/uploads")
+    public ResponseEntity<Object> presignUpload(@Valid @RequestBody UploadRequest request) {
+        return ApiResponse.from(200, "Upload prepared",
+                mediaStorageService.presignUpload(request.sha256(), request.contentType(), request.size()));
+    }
+
+    @GetMapping("/uploads/{*path}")
+    public void serve(@PathVariable String path, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Path file = normalize(path);
+        String key = ROOT.relativize(file).toString().replace('\\', '/');
+        var redirect = mediaStorageBackend.downloadUrl(key);
+        if (redirect.isPresent()) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, REDIRECT_CACHE_CONTROL);
+            response.sendRedirect(redirect.get());
+            return;
+        }
+
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Media not found");
+        }
+        long length = Files.size(file);
+        String etag = etagOf(file);
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        MediaType type = MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setContentType(type.toString());
+
+        Range range = new Range(0, length - 1);
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && length > 0 && (ifRange == null || ifRange.equals(etag))) {
+            Range requested = parseRange(rangeHeader, length);
+            if (requested == null) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            if (requested.length() < length) {
+                range = requested;
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + range.start() + "-" + range.end() + "/" + length);
+            }
+        }
+
+        response.setContentLengthLong(length == 0 ? 0 : range.length());
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, range.start());
+            request.setAttribute(SENDFILE_END, range.end() + 1); // exclusive
+            return;
+        }
+
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = range.start();
+            long remaining = range.length();
+            while (remaining > 0) {
+                long sent = in.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+    private static Path normalize(String path) {
+        Path file = ROOT.resolve(path.startsWith("/") ? path.substring(1) : path).normalize();
+        if (!file.startsWith(ROOT) || file.equals(ROOT) || file.startsWith(ROOT.resolve(".tmp"))) {
+            throw new ResourceNotFoundException("Media not found");
+        }
+        return file;
+    }
+
+    private static String etagOf(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return "\"" + (dot < 0 ? name : name.substring(0, dot)) + "\"";
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2); // weak comparison is fine for GET
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Single "bytes=" range; several ranges are answered with the whole file.
+     * @return null when not satisfiable
+     */
+    private static Range parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new Range(0, length - 1);
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new Range(0, length - 1);
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // suffix: last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                return new Range(Math.max(0, length - suffix), length - 1);
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start >= length || end < start) {
+                return null;
+            }
+            return new Range(start, end);
+        } catch (NumberFormatException e) {
+            return new Range(0, length - 1);
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package com.blog.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.blog.dto.ApiResponse;
+import com.blog.dto.NotificationPageResponse;
 import com.blog.dto.NotificationResponse;
 import com.blog.service.NotificationService;
+import com.blog.service.NotificationStreamTickets;
 
 @RestController
 @RequestMapping("/notifications")
@@ -18,20 +26,67 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private NotificationStreamTickets streamTickets;
+
     @GetMapping
     public ResponseEntity<Object> getUserNotifications(
+            @RequestParam(required = false) String after, // ✅ cursor mode when present ("" = first page)
+            @RequestParam(required = false) String since, // ✅ only notifications written after this position
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
 
         String username = authentication.getName();
+        if (since != null) {
+            NotificationPageResponse page = notificationService.getNotificationsSince(username, since, size);
+            return ApiResponse.from(200, "User Notifications Received successfully", page);
+        }
+        if (after != null) {
+            NotificationPageResponse page = notificationService.getUserNotificationsAfter(username, after, size);
+            return ApiResponse.from(200, "User Notifications Received successfully", page);
+        }
         List<NotificationResponse> notifications = notificationService.getUserNotifications(username);
         return  ApiResponse.from(200, "User Notifications Received successfully", notifications);
     }
 
+    // Push channel: replaces polling of /unread and /unread/count for connected clients.
+    // Browsers (EventSource) authenticate with a one-time ticket, other clients with the bearer token.
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) String ticket,
+            Authentication authentication) {
+        String username;
+        if (ticket != null) {
+            username = streamTickets.redeem(ticket);
+        } else if (authentication != null && !(authentication instanceof AnonymousAuthenticationToken)) {
+            username = authentication.getName();
+        } else {
+            username = null;
+        }
+        if (username == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired stream ticket");
+        }
+        return notificationService.openStream(username);
+    }
+
+    // ✅ Short-lived, single-use ticket for GET /stream?ticket=
+    @PostMapping("/stream/ticket")
+    public ResponseEntity<Object> streamTicket(Authentication authentication) {
+        String ticket = streamTickets.issue(authentication.getName());
+        return ApiResponse.from(200, "Stream ticket issued", Map.of("ticket", ticket));
+    }
+
     @GetMapping("/unread")
     public ResponseEntity<Object> getUnreadNotifications(
+            @RequestParam(required = false) String after, // ✅ cursor mode when present ("" = first page)
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
 
         String username = authentication.getName();
+        if (after != null) {
+            NotificationPageResponse page = notificationService.getUnreadNotificationsAfter(username, after, size);
+            return ApiResponse.from(200, "User Unread Notifications Received successfully", page);
+        }
         List<NotificationResponse> notifications = notificationService.getUnreadNotifications(username);
         return  ApiResponse.from(200, "User Unread Notifications Received successfully", notifications);
     }
@@ -56,8 +111,8 @@ public class NotificationController {
     @PutMapping("/read-all")
     public ResponseEntity<Object> markAllAsRead(Authentication authentication) {
         String username = authentication.getName();
-        notificationService.markAllAsRead(username);
-        return  ApiResponse.from(200, "All Notifications Marked As Read",null);
+        int updated = notificationService.markAllAsRead(username);
+        return  ApiResponse.from(200, "All Notifications Marked As Read", updated);
     }
 
     @DeleteMapping("/{notificationId}")
@@ -5,9 +5,11 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import com.blog.dto.ApiResponse;
 import com.blog.dto.UserResponse;
+import com.blog.helper.ConditionalGet;
 import com.blog.service.UserService;
 import java.util.Map; // ← NEW
 import org.springframework.data.domain.Page; // ← NEW
@@ -19,8 +21,12 @@ public class UserController {
     UserService userService;
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getUser(@PathVariable Long id) {
-        return ApiResponse.from(200, "User Received successfully", userService.getUserProfile(id));
+    public ResponseEntity<Object> getUser(@PathVariable Long id, ServletWebRequest webRequest) {
+        UserResponse user = userService.getUserProfile(id); // served from the user cache
+        if (ConditionalGet.notModified(webRequest, ConditionalGet.of(user))) {
+            return null;
+        }
+        return ApiResponse.from(200, "User Received successfully", user);
 
     }
 
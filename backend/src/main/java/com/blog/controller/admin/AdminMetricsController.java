@@ -0,0 +1,63 @@
+package com.blog.controller.admin;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.blog.config.DeferredRetryPolicy;
+import com.blog.dto.ApiResponse;
+import com.blog.service.BlogDetailCache;
+import com.blog.service.BlogPayloadCache;
+import com.blog.service.LikeWriteBuffer;
+import com.blog.service.NotificationStreamRegistry;
+import com.blog.service.UserCacheService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/admin/metrics") // final: /api/admin/metrics
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminMetricsController {
+
+  private final LikeWriteBuffer likeWriteBuffer;
+  private final UserCacheService userCacheService;
+  private final NotificationStreamRegistry notificationStreamRegistry;
+  private final BlogDetailCache blogDetailCache;
+  private final BlogPayloadCache blogPayloadCache;
+  private final DeferredRetryPolicy notificationRetryPolicy;
+
+  @GetMapping("/likes-buffer")
+  public ResponseEntity<Object> likesBuffer() {
+    return ApiResponse.from(200, "Like buffer metrics", likeWriteBuffer.stats());
+  }
+
+  @GetMapping("/user-cache")
+  public ResponseEntity<Object> userCache() {
+    return ApiResponse.from(200, "User cache metrics", userCacheService.stats());
+  }
+
+  // Hit ratio per endpoint, plus "all"
+  @GetMapping("/blog-cache")
+  public ResponseEntity<Object> blogCache() {
+    return ApiResponse.from(200, "Blog cache metrics", blogDetailCache.stats());
+  }
+
+  @GetMapping("/blog-payload-cache")
+  public ResponseEntity<Object> blogPayloadCache() {
+    return ApiResponse.from(200, "Blog payload cache metrics", blogPayloadCache.stats());
+  }
+
+  @GetMapping("/notification-streams")
+  public ResponseEntity<Object> notificationStreams() {
+    return ApiResponse.from(200, "Notification stream metrics", notificationStreamRegistry.stats());
+  }
+
+  // Tasks rejected by a full notificationExecutor queue
+  @GetMapping("/notification-executor")
+  public ResponseEntity<Object> notificationExecutor() {
+    return ApiResponse.from(200, "Notification executor metrics", notificationRetryPolicy.stats());
+  }
+}
@@ -17,6 +17,7 @@ import com.blog.dto.UserResponse;
 import com.blog.entity.UserEntity;
 import com.blog.exception.ResourceNotFoundException;
 import com.blog.repository.UserRepository;
+import com.blog.service.UserCacheService;
 import com.blog.service.UserService;
 import com.blog.service.admin.AdminUsersModerationService;
 
@@ -28,6 +29,7 @@ public class AdminUsersController {
   @Autowired private UserService userService;
   @Autowired private UserRepository userRepository;
   @Autowired private AdminUsersModerationService adminUsersModerationService;
+  @Autowired private UserCacheService userCacheService;
 
   @GetMapping
   public ResponseEntity<Object> getAllUsers(
@@ -49,26 +51,15 @@ public class AdminUsersController {
 
   @PostMapping("/{id}/ban")
   public ResponseEntity<Object> banUser(@PathVariable Long id, Authentication auth) {
-    blockSelfAction(id, auth);
-
-    UserEntity user = userRepository.findById(id)
-        .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-    user.setBanned(true);
-    userRepository.save(user);
+    // self-action check, save and cache eviction live in the moderation service
+    adminUsersModerationService.banUser(id, auth.getName());
 
     return ApiResponse.from(200, "User banned", null);
   }
 
   @PostMapping("/{id}/unban")
   public ResponseEntity<Object> unbanUser(@PathVariable Long id, Authentication auth) {
-    blockSelfAction(id, auth);
-
-    UserEntity user = userRepository.findById(id)
-        .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-    user.setBanned(false);
-    userRepository.save(user);
+    adminUsersModerationService.unbanUser(id, auth.getName());
 
     return ApiResponse.from(200, "User unbanned", null);
   }
@@ -89,7 +80,7 @@ public class AdminUsersController {
   private void blockSelfAction(Long targetUserId, Authentication auth) {
     String currentUsername = auth.getName();
 
-    UserEntity current = userRepository.findByUsername(currentUsername)
+    UserEntity current = userCacheService.findByUsername(currentUsername)
         .orElseThrow(() -> new ResponseStatusException(
             HttpStatus.INTERNAL_SERVER_ERROR, "Current user not found"));
 
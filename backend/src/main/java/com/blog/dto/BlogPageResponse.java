@@ -0,0 +1,9 @@
+package com.blog.dto;
+
+import java.util.List;
+
+public record BlogPageResponse(
+        List<BlogResponse> blogs,
+        String nextCursor // null when there is no next page
+) {
+}
@@ -1,6 +1,7 @@
 package com.blog.dto;
 
 import java.time.Instant;
+import java.util.List;
 
 public record BlogResponse(
         Long id,
@@ -12,7 +13,17 @@ public record BlogResponse(
         Long commentCount,
         Instant createdAt,
         Instant updatedAt,
-        UserResponse author
+        UserResponse author,
+        List<MediaItem> mediaItems // same order as media, with responsive variants
 ) {
 
+    public BlogResponse withMediaItems(List<MediaItem> items) {
+        return new BlogResponse(id, title, content, media, visible, likeCount, commentCount,
+                createdAt, updatedAt, author, items);
+    }
+
+    public BlogResponse withCounts(Long likes, Long comments) {
+        return new BlogResponse(id, title, content, media, visible, likes, comments,
+                createdAt, updatedAt, author, mediaItems);
+    }
 }
@@ -0,0 +1,24 @@
+package com.blog.dto;
+
+import java.time.Instant;
+
+// Flat read model for blog lists: one row = blog + author, selected with a
+// JPQL constructor expression so no managed BlogEntity/UserEntity is created.
+public record BlogRow(
+        Long id,
+        String title,
+        String content,
+        String media,
+        Boolean visible,
+        Long likeCount,
+        Long commentCount,
+        Instant createdAt,
+        Instant updatedAt,
+        Long authorId,
+        String authorUsername,
+        String authorEmail,
+        String authorRole,
+        Boolean authorBanned,
+        Instant authorCreatedAt
+) {
+}
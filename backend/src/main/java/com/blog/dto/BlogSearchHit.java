@@ -0,0 +1,7 @@
+package com.blog.dto;
+
+public record BlogSearchHit(
+        BlogResponse blog,
+        String highlight // HTML-escaped content fragments, matches wrapped in <mark>
+) {
+}
@@ -0,0 +1,9 @@
+package com.blog.dto;
+
+import java.util.List;
+
+public record BlogSearchPageResponse(
+        List<BlogSearchHit> results, // best match first
+        String nextCursor // null when there is no next page
+) {
+}
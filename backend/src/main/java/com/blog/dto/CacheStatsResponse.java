@@ -0,0 +1,9 @@
+package com.blog.dto;
+
+public record CacheStatsResponse(
+        long size,
+        long hits,
+        long misses,
+        double hitRate,
+        long evictions
+) {}
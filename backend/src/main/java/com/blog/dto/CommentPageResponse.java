@@ -0,0 +1,9 @@
+package com.blog.dto;
+
+import java.util.List;
+
+public record CommentPageResponse(
+        List<CommentResponse> comments,
+        String nextCursor // null when there is no next page
+) {
+}
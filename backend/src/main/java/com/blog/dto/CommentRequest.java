@@ -3,4 +3,7 @@ package com.blog.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
-public record CommentRequest(@NotBlank @Size(min=3, max=10000) String content) {}
+public record CommentRequest(
+        @NotBlank @Size(min=3, max=10000) String content,
+        Long parentId // optional: comment being replied to
+) {}
@@ -6,11 +6,12 @@ public record CommentResponse(
         Long id,
         String content,
         Instant createdAt,
-        AuthorInfo author
+        AuthorInfo author,
+        Long parentId,  // null for a top-level comment
+        Long replyCount
 ) {
     public record AuthorInfo(
             Long id,
-            String username,
-            String email
+            String username
     ) {}
 }
@@ -0,0 +1,16 @@
+package com.blog.dto;
+
+import java.time.Instant;
+
+// Flat read model for comment pages: comment + author id/username + reply count,
+// selected with a JPQL constructor expression (no managed entities)
+public record CommentRow(
+        Long id,
+        String content,
+        Instant createdAt,
+        Long parentId,
+        Long replyCount,
+        Long authorId,
+        String authorUsername
+) {
+}
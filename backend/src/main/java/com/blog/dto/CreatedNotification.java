@@ -0,0 +1,9 @@
+package com.blog.dto;
+
+// A freshly inserted (or grouped into an existing unread row) notification and its receiver,
+// used for real-time push
+public record CreatedNotification(
+        Long userId,
+        NotificationResponse notification,
+        boolean coalesced // true: no new unread row
+) {}
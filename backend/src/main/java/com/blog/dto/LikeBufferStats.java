@@ -0,0 +1,12 @@
+package com.blog.dto;
+
+public record LikeBufferStats(
+        boolean enabled,
+        int depth,
+        long flushes,
+        long failedFlushes,
+        long rowsWritten,
+        int lastFlushSize,
+        long lastFlushMillis,
+        long maxFlushMillis
+) {}
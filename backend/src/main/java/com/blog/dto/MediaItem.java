@@ -0,0 +1,12 @@
+package com.blog.dto;
+
+import java.util.List;
+
+// One entry of a blog's media; the metadata fields are null for files stored before media_blobs
+public record MediaItem(
+        String url,
+        String contentType,
+        Integer width,
+        Integer height,
+        List<MediaVariant> variants // ascending width, empty until generated
+) {}
@@ -0,0 +1,7 @@
+package com.blog.dto;
+
+// A downscaled JPEG copy of an image
+public record MediaVariant(
+        int width,
+        String url
+) {}
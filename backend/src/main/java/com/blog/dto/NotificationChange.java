@@ -0,0 +1,7 @@
+package com.blog.dto;
+
+// A notification as of its last write, with the writing transaction's id (incremental reads)
+public record NotificationChange(
+        long txid,
+        NotificationResponse notification
+) {}
@@ -0,0 +1,11 @@
+package com.blog.dto;
+
+// A notification to insert, with the receiver referenced by id only.
+// actor is set for groupable types (see NotificationText) and null otherwise.
+public record NotificationDraft(
+        Long userId,
+        String type,
+        String content,
+        Long relatedId,
+        String actor
+) {}
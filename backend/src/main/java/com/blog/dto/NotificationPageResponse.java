@@ -0,0 +1,9 @@
+package com.blog.dto;
+
+import java.util.List;
+
+public record NotificationPageResponse(
+        List<NotificationResponse> notifications,
+        String nextCursor // null when there is no next page; ?since= pages always carry the resume position
+) {
+}
@@ -8,5 +8,6 @@ public record NotificationResponse(
         String content,
         Long relatedId,
         Boolean isRead,
-        Instant createdAt
-) {}
\ No newline at end of file
+        Instant createdAt,
+        Integer actorCount // > 1 for grouped notifications
+) {}
@@ -0,0 +1,13 @@
+package com.blog.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+// url/headers/expiresAt are null when the same bytes are already stored: use path directly
+public record PresignedUpload(
+        String path, // media path to pass to POST /blogs once uploaded
+        String url,
+        String method,
+        Map<String, String> headers,
+        Instant expiresAt
+) {}
@@ -0,0 +1,10 @@
+package com.blog.dto;
+
+import java.util.List;
+
+// Fields of a streamed POST /blogs/stream; mediaPaths are already stored
+public record StreamedBlogUpload(
+        String title,
+        String content,
+        List<String> mediaPaths
+) {}
@@ -0,0 +1,12 @@
+package com.blog.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+// Direct upload announced by the client (hex SHA-256 of the exact bytes it will PUT)
+public record UploadRequest(
+        @NotBlank @Pattern(regexp = "[0-9a-f]{64}") String sha256,
+        @NotBlank String contentType,
+        @Positive long size
+) {}
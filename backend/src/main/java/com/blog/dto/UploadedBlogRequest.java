@@ -0,0 +1,13 @@
+package com.blog.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+// POST /blogs (JSON): media uploaded beforehand through POST /media/uploads
+public record UploadedBlogRequest(
+        @NotBlank @Size(min = 3, max = 120) String title,
+        @NotBlank @Size(min = 20, max = 10000) String content,
+        List<String> mediaPaths
+) {}
@@ -2,6 +2,7 @@ package com.blog.entity;
 
 import java.time.Instant;
 
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -10,6 +11,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -22,7 +24,12 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "blogs")
+// Keyset pages (created_at DESC, id DESC): per author, and across authors
+@Table(name = "blogs", indexes = {
+        @Index(name = "idx_blogs_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_blogs_created", columnList = "created_at, id")
+})
+@DynamicUpdate // only write changed columns, so saves never overwrite the atomic counters
 @Getter
 @Setter
 @Builder
@@ -4,11 +4,14 @@ import java.time.Instant;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 // import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -18,7 +21,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        // Keyset pages: (created_at, id) within a blog / within a thread
+        @Index(name = "idx_comments_blog_created", columnList = "blog_id, created_at, id"),
+        @Index(name = "idx_comments_parent_created", columnList = "parent_id, created_at, id")
+})
 @Getter
 @Setter
 @Builder
@@ -26,16 +33,22 @@ import lombok.Setter;
 @AllArgsConstructor
 public class CommentEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "blog_id")
     private BlogEntity blog;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private UserEntity user;
 
+    // Top-level comment this one replies to (threads are one level deep); plain
+    // column so bulk deletes of comments never trip over a constraint
+    @Column(name = "parent_id")
+    private Long parentId;
+
     // @PrePersist
     // private void onCreate() {
     //     this.createdAt = Instant.now();
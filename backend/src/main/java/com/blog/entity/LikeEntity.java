@@ -7,7 +7,9 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -15,7 +17,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name="likes")
+// One like per (blog, user): like_count and its reconciliation rely on it
+@Table(name = "likes", uniqueConstraints = @UniqueConstraint(name = "uk_likes_blog_user",
+        columnNames = { "blog_id", "user_id" }))
 @Getter
 @Setter
 @Builder
@@ -23,7 +27,8 @@ import lombok.Setter;
 @AllArgsConstructor
 public class LikeEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) 
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "likes_seq")
+    @SequenceGenerator(name = "likes_seq", sequenceName = "likes_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
@@ -0,0 +1,59 @@
+package com.blog.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A content-addressed media file (uploads/ab/cd/<sha256>.<ext>) and the number of
+ * blog media references to it. Rows are written with plain SQL by MediaStorageService.
+ */
+@Entity
+@Table(name = "media_blobs")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaBlobEntity {
+    // Relative to the upload directory, e.g. "3f/a9/3fa9....jpg"
+    @Id
+    @Column(name = "path", length = 128)
+    private String path;
+
+    @Column(name = "ref_count", nullable = false)
+    private long refCount;
+
+    @Column(name = "size", nullable = false)
+    private long size;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    // Set by MediaDerivativeService for decodable images
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "height")
+    private Integer height;
+
+    // Generated variant widths, e.g. "320,640"; "" when the image can't be decoded,
+    // null while not generated
+    @Column(name = "variant_widths")
+    private String variantWidths;
+
+    // Failed generation runs; MediaDerivativeService's sweep gives up after a few
+    @Column(name = "variant_attempts")
+    private Integer variantAttempts;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
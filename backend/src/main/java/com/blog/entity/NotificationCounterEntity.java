@@ -0,0 +1,31 @@
+package com.blog.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Unread notification count per user, kept in step with notification inserts and
+ * reads. A missing row means "not seeded yet": it is created from a COUNT on first use.
+ */
+@Entity
+@Table(name = "notification_counters")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationCounterEntity {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "unread", nullable = false)
+    private long unread;
+}
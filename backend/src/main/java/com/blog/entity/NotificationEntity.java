@@ -6,7 +6,8 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = @Index(name = "idx_notifications_user_read_created",
+    columnList = "user_id, is_read, created_at"))
 @Getter
 @Setter
 @Builder
@@ -15,7 +16,9 @@ import lombok.*;
 public class NotificationEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  // pooled sequence (ids handed out in blocks of 50) so inserts can be JDBC-batched
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+  @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
   private Long id;
 
   @ManyToOne
@@ -27,6 +30,8 @@ public class NotificationEntity {
   private String content;
   private Long relatedId;
   private Boolean isRead;
+  // Actors grouped into this row (NEW_LIKE / NEW_COMMENT); null on rows from before grouping
+  private Integer actorCount;
   @Builder.Default
   private Instant createdAt=Instant.now();   // ✅ remove final
   private Instant updatedAt;
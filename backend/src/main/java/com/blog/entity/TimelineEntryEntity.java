@@ -0,0 +1,59 @@
+package com.blog.entity;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One row per (follower, blog) in a follower's precomputed home feed.
+ * createdAt is copied from the blog so the feed is a single range scan
+ * on (follower_id, created_at).
+ */
+@Entity
+@Table(name = "timeline_entries", indexes = {
+        @Index(name = "idx_timeline_follower_created", columnList = "follower_id, created_at, blog_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_timeline_follower_blog", columnNames = { "follower_id", "blog_id" })
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimelineEntryEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "follower_id", nullable = false)
+    private Long followerId;
+
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "blog_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private BlogEntity blog;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
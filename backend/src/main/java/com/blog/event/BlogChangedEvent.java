@@ -0,0 +1,4 @@
+package com.blog.event;
+
+// Content, media or visibility of a blog changed, or the blog was deleted
+public record BlogChangedEvent(Long blogId) {}
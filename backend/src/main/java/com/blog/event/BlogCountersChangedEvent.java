@@ -0,0 +1,3 @@
+package com.blog.event;
+
+public record BlogCountersChangedEvent(Long blogId, long likeDelta, long commentDelta) {}
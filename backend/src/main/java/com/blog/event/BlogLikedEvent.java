@@ -0,0 +1,3 @@
+package com.blog.event;
+
+public record BlogLikedEvent(Long blogId, Long blogOwnerId, Long likerId, String likerUsername) {}
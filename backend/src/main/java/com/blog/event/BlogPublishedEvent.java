@@ -0,0 +1,5 @@
+package com.blog.event;
+
+import java.time.Instant;
+
+public record BlogPublishedEvent(Long blogId, Long authorId, String authorUsername, Instant createdAt) {}
@@ -0,0 +1,4 @@
+package com.blog.event;
+
+public record CommentCreatedEvent(Long commentId, Long blogId, Long blogOwnerId, Long commenterId,
+        String commenterUsername) {}
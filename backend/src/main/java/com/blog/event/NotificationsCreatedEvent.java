@@ -0,0 +1,7 @@
+package com.blog.event;
+
+import java.util.List;
+
+import com.blog.dto.CreatedNotification;
+
+public record NotificationsCreatedEvent(List<CreatedNotification> notifications) {}
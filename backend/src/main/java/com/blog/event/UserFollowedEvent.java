@@ -0,0 +1,3 @@
+package com.blog.event;
+
+public record UserFollowedEvent(Long followerId, String followerUsername, Long followingId) {}
@@ -0,0 +1,3 @@
+package com.blog.event;
+
+public record UserUnbannedEvent(Long userId) {}
@@ -0,0 +1,47 @@
+package com.blog.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the change order of notifications: (txid, id), where txid is the
+ * writing transaction's id. Sent to clients as an opaque base64url string, like
+ * {@link KeysetCursor}.
+ */
+public record ChangeCursor(long txid, long id) {
+
+    private static final String SEPARATOR = ",";
+
+    public static ChangeCursor of(long txid, long id) {
+        return new ChangeCursor(txid, id);
+    }
+
+    /**
+     * @return null for a blank value (start from the current position)
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+     */
+    public static ChangeCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            if (split <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ChangeCursor(
+                    Long.parseLong(raw.substring(0, split)),
+                    Long.parseLong(raw.substring(split + 1)));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException too
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = txid + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
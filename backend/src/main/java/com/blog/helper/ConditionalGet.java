@@ -0,0 +1,94 @@
+package com.blog.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.blog.dto.BlogResponse;
+import com.blog.dto.MediaItem;
+import com.blog.dto.UserResponse;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Weak ETags for JSON reads, built from what the response shows (timestamps,
+ * counters, flags), so a client refresh can be answered with 304.
+ *
+ * Usage in a controller: {@code if (ConditionalGet.notModified(request, etag)) return null;}
+ */
+public final class ConditionalGet {
+
+    // Browsers keep the body but revalidate every time (overrides Spring Security's no-store)
+    private static final String REVALIDATE = "private, no-cache";
+
+    private ConditionalGet() {}
+
+    /**
+     * Sets ETag and Cache-Control; true when If-None-Match matched and the 304 is
+     * already prepared (the handler should return null).
+     */
+    public static boolean notModified(ServletWebRequest request, String etag) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        }
+        return request.checkNotModified(etag);
+    }
+
+    public static String of(BlogResponse blog) {
+        return weak(version(blog));
+    }
+
+    public static String of(UserResponse user) {
+        return weak(user.id() + "-" + millis(user.createdAt()) + "-" + user.role() + "-" + user.banned());
+    }
+
+    // A page: its rows in order, plus the cursor to the next one
+    public static String ofPage(List<BlogResponse> blogs, String nextCursor) {
+        StringBuilder versions = new StringBuilder();
+        for (BlogResponse blog : blogs) {
+            versions.append(version(blog)).append(';');
+        }
+        versions.append(nextCursor);
+        return weak(digest(versions.toString()));
+    }
+
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+    private static String version(BlogResponse blog) {
+        int variants = 0;
+        if (blog.mediaItems() != null) {
+            for (MediaItem item : blog.mediaItems()) {
+                variants += item.variants() == null ? 0 : item.variants().size();
+            }
+        }
+        return blog.id() + "-" + millis(blog.updatedAt() != null ? blog.updatedAt() : blog.createdAt())
+                + "-" + blog.likeCount() + "-" + blog.commentCount()
+                + "-" + blog.visible() + "-" + (blog.author() != null && blog.author().banned())
+                + "-" + variants;
+    }
+
+    private static String millis(Instant instant) {
+        return instant == null ? "0" : String.valueOf(instant.toEpochMilli());
+    }
+
+    private static String weak(String version) {
+        return "W/\"" + version + "\"";
+    }
+
+    private static String digest(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
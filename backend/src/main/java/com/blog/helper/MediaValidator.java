@@ -2,14 +2,14 @@ package com.blog.helper;
 
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.List;
 
 public final class MediaValidator {
 
-    private static final int MAX_MEDIA_COUNT = 4;
-    private static final long MAX_FILE_SIZE = 50 * 1024 * 1024; // 50MB
+    public static final int MAX_MEDIA_COUNT = 4;
+    // Bytes needed by matchesSignature
+    public static final int HEADER_BYTES = 64;
+    public static final long MAX_FILE_SIZE = 50 * 1024 * 1024; // 50MB
 
     // Only allow these declared MIME types (still useful, but not enough alone)
     private static final List<String> ALLOWED_TYPES = List.of(
@@ -26,9 +26,7 @@ public final class MediaValidator {
     public static void validate(List<MultipartFile> files) {
         if (files == null || files.isEmpty()) return;
 
-        if (files.size() > MAX_MEDIA_COUNT) {
-            throw new IllegalArgumentException("Maximum 4 media files allowed");
-        }
+        validateCount(files.size());
 
         for (MultipartFile file : files) {
             if (file == null || file.isEmpty()) {
@@ -39,43 +37,45 @@ public final class MediaValidator {
                 throw new IllegalArgumentException("File too large: " + safeName(file));
             }
 
-            String ct = file.getContentType();
-            if (ct == null || !ALLOWED_TYPES.contains(ct)) {
-                throw new IllegalArgumentException("Unsupported media type: " + ct);
-            }
+            validateType(file.getContentType());
 
-            // ✅ REAL validation: check file signature (magic bytes)
-            if (!matchesSignature(file, ct)) {
-                throw new IllegalArgumentException(
-                        "File content does not match declared type (" + ct + "): " + safeName(file)
-                );
-            }
+            // ✅ Magic bytes are checked by MediaStorageService on the first chunk it copies
         }
     }
 
-    private static String safeName(MultipartFile f) {
-        return f.getOriginalFilename() == null ? "unknown" : f.getOriginalFilename();
+    public static void validateCount(int count) {
+        if (count > MAX_MEDIA_COUNT) {
+            throw new IllegalArgumentException("Maximum 4 media files allowed");
+        }
     }
 
-    private static boolean matchesSignature(MultipartFile file, String contentType) {
-        try (InputStream in = file.getInputStream()) {
-            byte[] header = in.readNBytes(64); // enough for common formats
-            if (header.length < 12) return false;
-
-            return switch (contentType) {
-                case "image/png" -> isPng(header);
-                case "image/jpeg" -> isJpeg(header);
-                case "image/gif" -> isGif(header);
-                case "image/webp" -> isWebp(header);
-                case "video/mp4" -> isMp4(header);
-                case "video/webm" -> isWebm(header);
-                default -> false;
-            };
-        } catch (IOException e) {
-            return false;
+    public static void validateType(String contentType) {
+        if (contentType == null || !ALLOWED_TYPES.contains(contentType)) {
+            throw new IllegalArgumentException("Unsupported media type: " + contentType);
         }
     }
 
+    /**
+     * @param header first {@link #HEADER_BYTES} bytes of the file (fewer if the file is shorter)
+     */
+    public static boolean matchesSignature(byte[] header, String contentType) {
+        if (header.length < 12) return false;
+
+        return switch (contentType) {
+            case "image/png" -> isPng(header);
+            case "image/jpeg" -> isJpeg(header);
+            case "image/gif" -> isGif(header);
+            case "image/webp" -> isWebp(header);
+            case "video/mp4" -> isMp4(header);
+            case "video/webm" -> isWebm(header);
+            default -> false;
+        };
+    }
+
+    private static String safeName(MultipartFile f) {
+        return f.getOriginalFilename() == null ? "unknown" : f.getOriginalFilename();
+    }
+
     // ---------- signatures ----------
     private static boolean isPng(byte[] h) {
         // 89 50 4E 47 0D 0A 1A 0A
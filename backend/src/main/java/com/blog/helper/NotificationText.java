@@ -0,0 +1,37 @@
+package com.blog.helper;
+
+import java.util.Map;
+
+/**
+ * Text of notifications that can be grouped per (receiver, type, relatedId):
+ * "alice liked your blog", "alice and 1 other liked your blog",
+ * "alice and 412 others liked your blog".
+ */
+public final class NotificationText {
+
+    private static final Map<String, String> ACTIONS = Map.of(
+            "NEW_LIKE", "liked your blog",
+            "NEW_COMMENT", "commented on your blog");
+
+    private NotificationText() {}
+
+    public static boolean isGroupable(String type) {
+        return ACTIONS.containsKey(type);
+    }
+
+    /**
+     * @param actor       most recent actor
+     * @param actorCount  actors in the group, including {@code actor}
+     */
+    public static String of(String type, String actor, long actorCount) {
+        String action = ACTIONS.get(type);
+        if (action == null) {
+            throw new IllegalArgumentException("Not a groupable notification type: " + type);
+        }
+        long others = actorCount - 1;
+        if (others <= 0) {
+            return actor + " " + action;
+        }
+        return actor + " and " + others + (others == 1 ? " other " : " others ") + action;
+    }
+}
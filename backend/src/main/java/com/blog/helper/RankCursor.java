@@ -0,0 +1,47 @@
+package com.blog.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a list ordered by (rank DESC, id DESC), e.g. search results.
+ * Sent to clients as an opaque base64url string, like {@link KeysetCursor}.
+ */
+public record RankCursor(float rank, Long id) {
+
+    private static final String SEPARATOR = ",";
+
+    public static RankCursor of(float rank, Long id) {
+        return new RankCursor(rank, id);
+    }
+
+    /**
+     * @return null for a blank value (first page)
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+     */
+    public static RankCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            if (split <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new RankCursor(
+                    Float.parseFloat(raw.substring(0, split)),
+                    Long.valueOf(raw.substring(split + 1)));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException too
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    // Float.toString round-trips exactly, so the next page compares against the same real
+    public String encode() {
+        String raw = rank + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
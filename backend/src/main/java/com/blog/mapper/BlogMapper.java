@@ -1,6 +1,7 @@
 package com.blog.mapper;
 
 import com.blog.dto.BlogResponse;
+import com.blog.dto.BlogRow;
 import com.blog.dto.UserResponse;
 import com.blog.entity.BlogEntity;
 
@@ -25,7 +26,34 @@ public class BlogMapper {
             blog.getComment_count(), // ✅ Your BlogEntity field
             blog.getCreatedAt(),
             blog.getUpdatedAt(),
-            author                   // ✅ Full UserResponse
+            author,                  // ✅ Full UserResponse
+            null                     // filled by MediaDerivativeService
         );
-    }   
+    }
+
+    // ✅ Projection rows already carry the author, no entity is touched
+    public static BlogResponse toResponse(BlogRow row) {
+        UserResponse author = new UserResponse(
+            row.authorId(),
+            row.authorUsername(),
+            row.authorEmail(),
+            row.authorRole(),
+            Boolean.TRUE.equals(row.authorBanned()),
+            row.authorCreatedAt()
+        );
+
+        return new BlogResponse(
+            row.id(),
+            row.title(),
+            row.content(),
+            row.media(),
+            row.visible(),
+            row.likeCount(),
+            row.commentCount(),
+            row.createdAt(),
+            row.updatedAt(),
+            author,
+            null
+        );
+    }
 }
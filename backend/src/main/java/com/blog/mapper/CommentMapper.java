@@ -1,6 +1,7 @@
 package com.blog.mapper;
 
 import com.blog.dto.CommentResponse;
+import com.blog.dto.CommentRow;
 import com.blog.entity.CommentEntity;
 
 public class CommentMapper {
@@ -11,9 +12,21 @@ public class CommentMapper {
                 comment.getCreatedAt(),
                 new CommentResponse.AuthorInfo(
                         comment.getUser().getId(),
-                        comment.getUser().getUsername(),
-                        comment.getUser().getEmail()
-                )
+                        comment.getUser().getUsername()
+                ),
+                comment.getParentId(),
+                0L
+        );
+    }
+
+    public static CommentResponse toResponse(CommentRow row) {
+        return new CommentResponse(
+                row.id(),
+                row.content(),
+                row.createdAt(),
+                new CommentResponse.AuthorInfo(row.authorId(), row.authorUsername()),
+                row.parentId(),
+                row.replyCount()
         );
     }
 }
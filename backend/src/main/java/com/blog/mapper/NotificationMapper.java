@@ -11,7 +11,8 @@ public class NotificationMapper {
                 notification.getContent(),
                 notification.getRelatedId(),
                 notification.getIsRead(),
-                notification.getCreatedAt()
+                notification.getCreatedAt(),
+                notification.getActorCount() == null ? 1 : notification.getActorCount()
         );
     }
 }
\ No newline at end of file
@@ -2,13 +2,16 @@ package com.blog.repository;
 
 import org.springframework.stereotype.Repository;
 
+import com.blog.dto.BlogRow;
 import com.blog.entity.BlogEntity;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -16,6 +19,12 @@ import org.springframework.data.repository.query.Param;
 
 @Repository
 public interface BlogRepository extends JpaRepository<BlogEntity, Long> {
+
+    // Blog + author in one statement, mapped straight into BlogRow
+    String ROW = "SELECT new com.blog.dto.BlogRow("
+            + "b.id, b.title, b.content, b.media, b.visible, b.like_count, b.comment_count, b.createdAt, b.updatedAt, "
+            + "u.id, u.username, u.email, u.role, u.banned, u.createdAt) ";
+
     Optional<BlogEntity> findById(Integer id);
 
     // ✅ FIXED: use @Query for List<Long>
@@ -34,6 +43,101 @@ public interface BlogRepository extends JpaRepository<BlogEntity, Long> {
 
     Optional<BlogEntity> findByIdAndVisibleTrue(Long id);
 
+    // ─────────────────────────────────────────────
+    // ✅ List projections (no N+1 on the author)
+    // ─────────────────────────────────────────────
+    @Query(ROW + "FROM BlogEntity b JOIN b.userId u")
+    List<BlogRow> findAllRows();
+
+    @Query(ROW + "FROM BlogEntity b JOIN b.userId u WHERE u.id = :userId "
+            + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BlogRow> findUserBlogRows(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(ROW + "FROM BlogEntity b JOIN b.userId u WHERE u.id = :userId AND b.visible = true "
+            + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BlogRow> findVisibleUserBlogRows(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(ROW + "FROM BlogEntity b JOIN b.userId u WHERE u.id IN :userIds AND b.visible = true "
+            + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BlogRow> findRecentVisibleRowsByUserIds(@Param("userIds") List<Long> userIds, Pageable pageable);
+
+    // ─────────────────────────────────────────────
+    // ✅ Keyset pagination (no OFFSET, no COUNT)
+    // order: createdAt DESC, id DESC; the row-value seek is an index range scan on
+    // idx_blogs_user_created / idx_blogs_created
+    // ─────────────────────────────────────────────
+    @Query(ROW + "FROM BlogEntity b JOIN b.userId u WHERE u.id = :userId "
+            + "ORDER BY b.createdAt DESC, b.id DESC")
+    Slice<BlogRow> findUserBlogSlice(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(ROW + "FROM BlogEntity b JOIN b.userId u WHERE u.id = :userId AND b.visible = true "
+            + "ORDER BY b.createdAt DESC, b.id DESC")
+    Slice<BlogRow> findVisibleUserBlogSlice(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(ROW + "FROM BlogEntity b JOIN b.userId u WHERE u.id = :userId "
+            + "AND (b.createdAt, b.id) < (:createdAt, :id) "
+            + "ORDER BY b.createdAt DESC, b.id DESC")
+    Slice<BlogRow> findUserBlogsBefore(@Param("userId") Long userId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query(ROW + "FROM BlogEntity b JOIN b.userId u WHERE u.id = :userId AND b.visible = true "
+            + "AND (b.createdAt, b.id) < (:createdAt, :id) "
+            + "ORDER BY b.createdAt DESC, b.id DESC")
+    Slice<BlogRow> findVisibleUserBlogsBefore(@Param("userId") Long userId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query(ROW + "FROM BlogEntity b JOIN b.userId u WHERE u.id IN :userIds AND b.visible = true "
+            + "AND (b.createdAt, b.id) < (:createdAt, :id) "
+            + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BlogRow> findRecentVisibleRowsByUserIdsBefore(@Param("userIds") List<Long> userIds,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    // ─────────────────────────────────────────────
+    // ✅ Atomic counters (no COUNT(*) per click, no read-modify-write)
+    // ─────────────────────────────────────────────
+    @Modifying
+    @Query("UPDATE BlogEntity b SET b.like_count = COALESCE(b.like_count, 0) + :delta WHERE b.id = :blogId")
+    int incrementLikeCount(@Param("blogId") Long blogId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE BlogEntity b SET b.comment_count = COALESCE(b.comment_count, 0) + :delta WHERE b.id = :blogId")
+    int incrementCommentCount(@Param("blogId") Long blogId, @Param("delta") long delta);
+
+    @Query("SELECT COALESCE(b.like_count, 0) FROM BlogEntity b WHERE b.id = :blogId")
+    Long findLikeCount(@Param("blogId") Long blogId);
+
+    @Query("SELECT MAX(b.id) FROM BlogEntity b")
+    Long findMaxId();
+
+    // Row locks on a reconciliation window: counter increments on these blogs wait,
+    // so the recount below can't overwrite one that commits in between
+    @Query(value = "SELECT id FROM blogs WHERE id BETWEEN :fromId AND :toId ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockWindow(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // Repairs counter drift for blogs with id in [fromId, toId] from the source tables;
+    // run after lockWindow in the same transaction
+    @Modifying
+    @Query(value = "UPDATE blogs b SET like_count = c.likes, comment_count = c.comments FROM ("
+            + "SELECT b2.id, "
+            + "(SELECT COUNT(*) FROM likes l WHERE l.blog_id = b2.id) AS likes, "
+            + "(SELECT COUNT(*) FROM comments cm WHERE cm.blog_id = b2.id) AS comments "
+            + "FROM blogs b2 WHERE b2.id BETWEEN :fromId AND :toId) c "
+            + "WHERE b.id = c.id "
+            + "AND (b.like_count IS DISTINCT FROM c.likes OR b.comment_count IS DISTINCT FROM c.comments)",
+            nativeQuery = true)
+    int reconcileCounters(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // media column of a user's blogs, so their references can be released before a bulk delete
+    @Query("SELECT b.media FROM BlogEntity b WHERE b.userId.id = :userId AND b.media IS NOT NULL")
+    List<String> findMediaByUserId(@Param("userId") Long userId);
+
     // ✅ Delete methods
     @Modifying
     @Query("DELETE FROM BlogEntity b WHERE b.userId.id = :userId")
@@ -1,19 +1,72 @@
 package com.blog.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.blog.dto.CommentRow;
 import com.blog.entity.CommentEntity;
 
+import java.time.Instant;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<CommentEntity, Long> {
 
-    List<CommentEntity> findByBlog_Id(Long blogId);
+    // Comment + author in one statement; replyCount is an index-only count per row
+    String ROW = "SELECT new com.blog.dto.CommentRow("
+            + "c.id, c.content, c.createdAt, c.parentId, "
+            + "(SELECT COUNT(r) FROM CommentEntity r WHERE r.parentId = c.id), "
+            + "u.id, u.username) ";
+
+    // ─────────────────────────────────────────────
+    // ✅ Keyset pagination, oldest first
+    // order: createdAt ASC, id ASC
+    // ─────────────────────────────────────────────
+    @Query(ROW + "FROM CommentEntity c JOIN c.user u WHERE c.blog.id = :blogId "
+            + "ORDER BY c.createdAt, c.id")
+    Slice<CommentRow> findBlogComments(@Param("blogId") Long blogId, Pageable pageable);
+
+    @Query(ROW + "FROM CommentEntity c JOIN c.user u WHERE c.blog.id = :blogId "
+            + "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) "
+            + "ORDER BY c.createdAt, c.id")
+    Slice<CommentRow> findBlogCommentsAfter(@Param("blogId") Long blogId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    // Threaded view: top-level comments only
+    @Query(ROW + "FROM CommentEntity c JOIN c.user u WHERE c.blog.id = :blogId AND c.parentId IS NULL "
+            + "ORDER BY c.createdAt, c.id")
+    Slice<CommentRow> findBlogThreads(@Param("blogId") Long blogId, Pageable pageable);
+
+    @Query(ROW + "FROM CommentEntity c JOIN c.user u WHERE c.blog.id = :blogId AND c.parentId IS NULL "
+            + "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) "
+            + "ORDER BY c.createdAt, c.id")
+    Slice<CommentRow> findBlogThreadsAfter(@Param("blogId") Long blogId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query(ROW + "FROM CommentEntity c JOIN c.user u WHERE c.parentId = :parentId "
+            + "ORDER BY c.createdAt, c.id")
+    Slice<CommentRow> findReplies(@Param("parentId") Long parentId, Pageable pageable);
+
+    @Query(ROW + "FROM CommentEntity c JOIN c.user u WHERE c.parentId = :parentId "
+            + "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) "
+            + "ORDER BY c.createdAt, c.id")
+    Slice<CommentRow> findRepliesAfter(@Param("parentId") Long parentId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM CommentEntity c WHERE c.parentId = :parentId")
+    int deleteAllByParentId(@Param("parentId") Long parentId);
 
     long countByBlog_Id(Long blogId);
 
@@ -26,6 +79,11 @@ public interface CommentRepository extends JpaRepository<CommentEntity, Long> {
     @Query("DELETE FROM CommentEntity c WHERE c.user.id = :userId")
     void deleteAllByUserId(@Param("userId") Long userId);
 
+    @Modifying
+    @Query("DELETE FROM CommentEntity c WHERE c.parentId IN "
+            + "(SELECT p.id FROM CommentEntity p WHERE p.user.id = :userId)")
+    void deleteRepliesToUser(@Param("userId") Long userId);
+
     @Modifying
     @Query("DELETE FROM CommentEntity c WHERE c.blog.userId.id = :userId")
     void deleteAllByBlogUserId(@Param("userId") Long userId);
@@ -1,5 +1,6 @@
 package com.blog.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +9,7 @@ import org.springframework.stereotype.Repository;
 
 import com.blog.entity.FollowEntity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +24,21 @@ public interface FollowRepository extends JpaRepository<FollowEntity, Long> {
     @Query("select f.following.id from FollowEntity f where f.follower.id = :followerId")
     List<Long> findFollowingIdsByFollowerId(@Param("followerId") Long followerId);
 
+    @Query("select f.following.id from FollowEntity f where f.follower.id = :followerId and f.following.id in :authorIds")
+    List<Long> findFollowingIdsAmong(@Param("followerId") Long followerId,
+            @Param("authorIds") Collection<Long> authorIds);
+
+    // Authors whose follower count makes fan-out on write too expensive
+    @Query("select f.following.id from FollowEntity f group by f.following.id having count(f) >= :minFollowers")
+    List<Long> findAuthorIdsWithFollowersAtLeast(@Param("minFollowers") long minFollowers);
+
+    // Follower ids in id order, one page after :afterId (notification fan-out)
+    @Query("select f.follower.id from FollowEntity f where f.following.id = :authorId and f.follower.id > :afterId "
+            + "order by f.follower.id")
+    List<Long> findFollowerIdsAfter(@Param("authorId") Long authorId,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
     long countByFollower_Id(Long followerId);
 
     long countByFollowing_Id(Long followingId);
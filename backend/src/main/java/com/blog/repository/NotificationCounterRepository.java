@@ -0,0 +1,59 @@
+package com.blog.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.blog.entity.NotificationCounterEntity;
+
+@Repository
+public interface NotificationCounterRepository extends JpaRepository<NotificationCounterEntity, Long> {
+
+    @Query("SELECT c.unread FROM NotificationCounterEntity c WHERE c.userId = :userId")
+    Long findUnread(@Param("userId") Long userId);
+
+    // First use: seed from the notifications table (a concurrent seed wins, same result)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO notification_counters (user_id, unread) "
+            + "SELECT :userId, COUNT(*) FROM notifications WHERE user_id = :userId AND is_read = false "
+            + "ON CONFLICT (user_id) DO NOTHING",
+            nativeQuery = true)
+    int seed(@Param("userId") Long userId);
+
+    // No row yet: nothing to do, the next read seeds from the table
+    @Modifying
+    @Query(value = "UPDATE notification_counters SET unread = GREATEST(unread - :delta, 0) WHERE user_id = :userId",
+            nativeQuery = true)
+    int decrement(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Query("SELECT MAX(c.userId) FROM NotificationCounterEntity c")
+    Long findMaxUserId();
+
+    // Row locks on a reconciliation window: unread increments/decrements of these users
+    // wait, so the recount below can't overwrite one that commits in between
+    @Query(value = "SELECT user_id FROM notification_counters WHERE user_id BETWEEN :fromId AND :toId "
+            + "ORDER BY user_id FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockWindow(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // Repairs drift for counters with user_id in [fromId, toId]; run after lockWindow
+    // in the same transaction
+    @Modifying
+    @Query(value = "UPDATE notification_counters nc SET unread = c.unread FROM ("
+            + "SELECT c2.user_id, "
+            + "(SELECT COUNT(*) FROM notifications n WHERE n.user_id = c2.user_id AND n.is_read = false) AS unread "
+            + "FROM notification_counters c2 WHERE c2.user_id BETWEEN :fromId AND :toId) c "
+            + "WHERE nc.user_id = c.user_id AND nc.unread <> c.unread",
+            nativeQuery = true)
+    int reconcile(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Modifying
+    @Query("DELETE FROM NotificationCounterEntity c WHERE c.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
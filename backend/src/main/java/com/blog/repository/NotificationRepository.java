@@ -1,5 +1,7 @@
 package com.blog.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,18 +10,56 @@ import org.springframework.stereotype.Repository;
 
 import com.blog.entity.NotificationEntity;
 
+import java.time.Instant;
 import java.util.List;
 
 @Repository
-public interface NotificationRepository extends JpaRepository<NotificationEntity, Long> {
-    List<NotificationEntity> findByUser_IdOrderByCreatedAtDesc(Long userId);
+public interface NotificationRepository extends JpaRepository<NotificationEntity, Long>, NotificationRepositoryCustom {
+    long countByUser_IdAndIsRead(Long userId, Boolean isRead);
 
-    List<NotificationEntity> findByUser_IdAndIsReadOrderByCreatedAtDesc(Long userId, Boolean isRead);
+    // ✅ Keyset pages ordered by (createdAt DESC, id DESC).
+    // horizon (start of the oldest retained month) lets Postgres skip older partitions.
+    @Query("SELECT n FROM NotificationEntity n WHERE n.user.id = :userId AND n.createdAt >= :horizon "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<NotificationEntity> findByUserWithin(@Param("userId") Long userId,
+            @Param("horizon") Instant horizon,
+            Pageable pageable);
 
-    long countByUser_IdAndIsRead(Long userId, Boolean isRead);
+    // Unread rows are never dropped by retention, so unread reads have no horizon
+    Slice<NotificationEntity> findByUser_IdAndIsReadOrderByCreatedAtDescIdDesc(Long userId, Boolean isRead,
+            Pageable pageable);
+
+    @Query("SELECT n FROM NotificationEntity n WHERE n.user.id = :userId AND n.createdAt >= :horizon "
+            + "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<NotificationEntity> findByUserBefore(@Param("userId") Long userId,
+            @Param("horizon") Instant horizon,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query("SELECT n FROM NotificationEntity n WHERE n.user.id = :userId AND n.isRead = false "
+            + "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<NotificationEntity> findUnreadByUserBefore(@Param("userId") Long userId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
 
     void deleteByUser_Id(Long userId);
 
+    // ✅ One statement for "mark all as read"; returns the number of rows changed
+    @Modifying
+    @Query(value = "UPDATE notifications SET is_read = true, updated_at = now() "
+            + "WHERE user_id = :userId AND is_read = false",
+            nativeQuery = true)
+    int markAllAsRead(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE NotificationEntity n SET n.isRead = true, n.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE n.id = :id AND n.isRead = false")
+    int markAsRead(@Param("id") Long id);
+
     // NotificationRepository.java
     @Modifying
     @Query("DELETE FROM NotificationEntity n WHERE n.user.id = :userId")
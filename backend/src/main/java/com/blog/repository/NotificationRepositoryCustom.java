@@ -0,0 +1,26 @@
+package com.blog.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.blog.dto.CreatedNotification;
+import com.blog.dto.NotificationChange;
+import com.blog.dto.NotificationDraft;
+import com.blog.helper.ChangeCursor;
+
+public interface NotificationRepositoryCustom {
+
+    // Multi-row INSERTs; drafts for users that no longer exist are skipped.
+    // Groupable drafts (NotificationText) are folded into a recent unread row of the
+    // same (receiver, type, relatedId) when there is one.
+    // Returns the inserted and the grouped-into rows.
+    List<CreatedNotification> bulkInsert(List<NotificationDraft> drafts);
+
+    // Rows written after the given position, in commit-safe order (txid, id).
+    // Only transactions older than every running one are returned, so a slow
+    // transaction can't commit a row behind a position already handed out.
+    List<NotificationChange> findChangesAfter(Long userId, ChangeCursor after, Instant horizon, int limit);
+
+    // Position before every transaction still running
+    ChangeCursor currentChangePosition();
+}
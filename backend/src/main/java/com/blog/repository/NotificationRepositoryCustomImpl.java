@@ -0,0 +1,243 @@
+package com.blog.repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.blog.dto.CreatedNotification;
+import com.blog.dto.NotificationChange;
+import com.blog.dto.NotificationDraft;
+import com.blog.dto.NotificationResponse;
+import com.blog.helper.ChangeCursor;
+import com.blog.helper.NotificationText;
+
+public class NotificationRepositoryCustomImpl implements NotificationRepositoryCustom {
+
+    // Rows per statement (6 bind parameters each, well under the 32767 limit)
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String INSERT_PREFIX = "INSERT INTO notifications "
+            + "(id, user_id, status, type, content, related_id, is_read, actor_count, created_at, updated_at) "
+            + "SELECT nextval('notifications_seq'), v.user_id, true, v.type, v.content, v.related_id, false, "
+            + "v.actor_count, v.created_at, v.created_at FROM (VALUES ";
+
+    private static final String INSERT_SUFFIX = ") AS v(user_id, type, content, related_id, actor_count, created_at) "
+            + "WHERE EXISTS (SELECT 1 FROM users u WHERE u.id = v.user_id) "
+            + "RETURNING id, user_id, type, content, related_id, actor_count, created_at";
+
+    private static final RowMapper<CreatedNotification> ROW_MAPPER = (rs, rowNum) -> new CreatedNotification(
+            rs.getLong("user_id"),
+            new NotificationResponse(
+                    rs.getLong("id"),
+                    rs.getString("type"),
+                    rs.getString("content"),
+                    rs.getObject("related_id", Long.class),
+                    false,
+                    rs.getTimestamp("created_at").toInstant(),
+                    rs.getInt("actor_count")),
+            false);
+
+    private static final String FULL_CHUNK_SQL = insertSql(CHUNK_SIZE);
+
+    // Newest unread row of the same group inside the window; locked so concurrent
+    // groupings into it serialize
+    private static final String FIND_GROUP = "SELECT id, created_at, COALESCE(actor_count, 1) AS actor_count "
+            + "FROM notifications WHERE user_id = ? AND type = ? AND related_id = ? "
+            + "AND is_read = false AND created_at >= ? "
+            + "ORDER BY created_at DESC LIMIT 1 FOR UPDATE";
+
+    // created_at stays, so keyset pages over (created_at, id) never see the row move;
+    // txid is renewed, so incremental reads (?since=) return it again with the new count
+    private static final String UPDATE_GROUP = "UPDATE notifications "
+            + "SET actor_count = ?, content = ?, updated_at = ?, txid = DEFAULT WHERE id = ? AND created_at = ?";
+
+    // txid < xmin of the statement's snapshot: the writer has finished, so no row can
+    // still appear before the returned ones (rows from before the txid column are NULL)
+    private static final String FIND_CHANGES = "SELECT id, type, content, related_id, is_read, created_at, "
+            + "COALESCE(actor_count, 1) AS actor_count, txid FROM notifications "
+            + "WHERE user_id = ? AND created_at >= ? AND (txid, id) > (?, ?) "
+            + "AND txid < pg_snapshot_xmin(pg_current_snapshot())::text::bigint "
+            + "ORDER BY txid, id LIMIT ?";
+
+    private static final RowMapper<NotificationChange> CHANGE_MAPPER = (rs, rowNum) -> new NotificationChange(
+            rs.getLong("txid"),
+            new NotificationResponse(
+                    rs.getLong("id"),
+                    rs.getString("type"),
+                    rs.getString("content"),
+                    rs.getObject("related_id", Long.class),
+                    rs.getBoolean("is_read"),
+                    rs.getTimestamp("created_at").toInstant(),
+                    rs.getInt("actor_count")));
+
+    private static final String ADD_UNREAD = "UPDATE notification_counters SET unread = unread + ? WHERE user_id = ?";
+
+    // Counter row missing: seed from the table, which already holds this transaction's rows.
+    // On conflict another transaction seeded without seeing them, so add the delta.
+    private static final String SEED_UNREAD = "INSERT INTO notification_counters (user_id, unread) "
+            + "SELECT ?, COUNT(*) FROM notifications WHERE user_id = ? AND is_read = false "
+            + "ON CONFLICT (user_id) DO UPDATE SET unread = notification_counters.unread + ?";
+
+    private record Row(Long userId, String type, String content, Long relatedId, int actorCount) {}
+
+    private record GroupKey(Long userId, String type, Long relatedId) {}
+
+    private record GroupRow(long id, Timestamp createdAt, int actorCount) {}
+
+    private static final class Group {
+        private String latestActor;
+        private int actors;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration coalesceWindow;
+
+    public NotificationRepositoryCustomImpl(
+            JdbcTemplate jdbcTemplate,
+            @Value("${blog.notifications.coalesce.window-minutes:60}") long coalesceWindowMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.coalesceWindow = Duration.ofMinutes(coalesceWindowMinutes);
+    }
+
+    @Override
+    public List<CreatedNotification> bulkInsert(List<NotificationDraft> drafts) {
+        Instant now = Instant.now();
+        List<CreatedNotification> result = new ArrayList<>(drafts.size());
+
+        // Groupable drafts collapse per (receiver, type, relatedId), first within this call...
+        List<Row> rows = new ArrayList<>(drafts.size());
+        Map<GroupKey, Group> groups = new LinkedHashMap<>();
+        for (NotificationDraft draft : drafts) {
+            if (draft.actor() != null && draft.relatedId() != null && NotificationText.isGroupable(draft.type())) {
+                Group group = groups.computeIfAbsent(
+                        new GroupKey(draft.userId(), draft.type(), draft.relatedId()), key -> new Group());
+                group.latestActor = draft.actor();
+                group.actors++;
+            } else {
+                rows.add(new Row(draft.userId(), draft.type(), draft.content(), draft.relatedId(), 1));
+            }
+        }
+
+        // ...then into a recent unread row when there is one
+        groups.forEach((key, group) -> {
+            CreatedNotification coalesced = coalesce(key, group, now);
+            if (coalesced != null) {
+                result.add(coalesced);
+            } else {
+                rows.add(new Row(key.userId(), key.type(),
+                        NotificationText.of(key.type(), group.latestActor, group.actors),
+                        key.relatedId(), group.actors));
+            }
+        });
+
+        List<CreatedNotification> inserted = insertRows(rows, Timestamp.from(now));
+        addUnread(inserted);
+        result.addAll(inserted);
+        return result;
+    }
+
+    @Override
+    public List<NotificationChange> findChangesAfter(Long userId, ChangeCursor after, Instant horizon, int limit) {
+        return jdbcTemplate.query(FIND_CHANGES, CHANGE_MAPPER,
+                userId, Timestamp.from(horizon), after.txid(), after.id(), limit);
+    }
+
+    @Override
+    public ChangeCursor currentChangePosition() {
+        Long xmin = jdbcTemplate.queryForObject(
+                "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint", Long.class);
+        // (xmin, 0) sorts before every row written by xmin or a later transaction
+        return ChangeCursor.of(xmin, 0);
+    }
+
+    private CreatedNotification coalesce(GroupKey key, Group group, Instant now) {
+        Timestamp since = Timestamp.from(now.minus(coalesceWindow));
+        List<GroupRow> found = jdbcTemplate.query(FIND_GROUP,
+                (rs, rowNum) -> new GroupRow(rs.getLong("id"), rs.getTimestamp("created_at"), rs.getInt("actor_count")),
+                key.userId(), key.type(), key.relatedId(), since);
+        if (found.isEmpty()) {
+            return null;
+        }
+
+        GroupRow row = found.get(0);
+        int actorCount = row.actorCount() + group.actors;
+        String content = NotificationText.of(key.type(), group.latestActor, actorCount);
+        jdbcTemplate.update(UPDATE_GROUP, actorCount, content, Timestamp.from(now), row.id(), row.createdAt());
+
+        return new CreatedNotification(
+                key.userId(),
+                new NotificationResponse(row.id(), key.type(), content, key.relatedId(), false,
+                        row.createdAt().toInstant(), actorCount),
+                true);
+    }
+
+    private List<CreatedNotification> insertRows(List<Row> rows, Timestamp now) {
+        List<CreatedNotification> inserted = new ArrayList<>(rows.size());
+        for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+            List<Row> chunk = rows.subList(from, Math.min(from + CHUNK_SIZE, rows.size()));
+
+            List<Object> args = new ArrayList<>(chunk.size() * 6);
+            for (Row row : chunk) {
+                args.add(row.userId());
+                args.add(row.type());
+                args.add(row.content());
+                args.add(row.relatedId());
+                args.add(row.actorCount());
+                args.add(now);
+            }
+
+            String sql = chunk.size() == CHUNK_SIZE ? FULL_CHUNK_SQL : insertSql(chunk.size());
+            inserted.addAll(jdbcTemplate.query(sql, ROW_MAPPER, args.toArray()));
+        }
+        return inserted;
+    }
+
+    private void addUnread(List<CreatedNotification> inserted) {
+        // user_id order, so fan-outs and CounterReconciliationJob lock counters in the same order
+        Map<Long, Integer> perUser = new TreeMap<>();
+        for (CreatedNotification created : inserted) {
+            perUser.merge(created.userId(), 1, Integer::sum);
+        }
+        if (perUser.isEmpty()) {
+            return;
+        }
+
+        List<Long> userIds = new ArrayList<>(perUser.keySet());
+        List<Object[]> updates = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            updates.add(new Object[] { perUser.get(userId), userId });
+        }
+        int[] updated = jdbcTemplate.batchUpdate(ADD_UNREAD, updates);
+
+        List<Object[]> seeds = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                Long userId = userIds.get(i);
+                seeds.add(new Object[] { userId, userId, perUser.get(userId) });
+            }
+        }
+        if (!seeds.isEmpty()) {
+            jdbcTemplate.batchUpdate(SEED_UNREAD, seeds);
+        }
+    }
+
+    private static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(CAST(? AS bigint), ?, ?, CAST(? AS bigint), CAST(? AS integer), CAST(? AS timestamptz))");
+        }
+        return sql.append(INSERT_SUFFIX).toString();
+    }
+}
@@ -0,0 +1,33 @@
+package com.blog.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.blog.entity.RevokedTokenEntity;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedTokenEntity, String> {
+
+    // A repeated logout of the same token keeps the first row
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO revoked_tokens (jti, expires_at) VALUES (:jti, :expiresAt) "
+            + "ON CONFLICT (jti) DO NOTHING",
+            nativeQuery = true)
+    int revoke(@Param("jti") String jti, @Param("expiresAt") Instant expiresAt);
+
+    @Query("SELECT t FROM RevokedTokenEntity t WHERE t.expiresAt > :now")
+    List<RevokedTokenEntity> findLive(@Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedTokenEntity t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,88 @@
+package com.blog.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.blog.dto.BlogRow;
+import com.blog.entity.TimelineEntryEntity;
+
+@Repository
+public interface TimelineRepository extends JpaRepository<TimelineEntryEntity, Long> {
+
+    @Query(BlogRepository.ROW + "FROM TimelineEntryEntity t JOIN t.blog b JOIN b.userId u "
+            + "WHERE t.followerId = :followerId AND b.visible = true "
+            + "ORDER BY t.createdAt DESC, t.blog.id DESC")
+    List<BlogRow> findTimeline(@Param("followerId") Long followerId, Pageable pageable);
+
+    @Query(BlogRepository.ROW + "FROM TimelineEntryEntity t JOIN t.blog b JOIN b.userId u "
+            + "WHERE t.followerId = :followerId AND b.visible = true "
+            + "AND (t.createdAt, t.blog.id) < (:createdAt, :id) "
+            + "ORDER BY t.createdAt DESC, t.blog.id DESC")
+    List<BlogRow> findTimelineBefore(@Param("followerId") Long followerId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    boolean existsByFollowerId(Long followerId);
+
+    // ✅ Fan-out on write: one statement, followers are never loaded into the JVM
+    @Modifying
+    @Query(value = "INSERT INTO timeline_entries (follower_id, author_id, blog_id, created_at) "
+            + "SELECT f.follower_id, :authorId, :blogId, :createdAt FROM follows f WHERE f.following_id = :authorId "
+            + "ON CONFLICT (follower_id, blog_id) DO NOTHING", nativeQuery = true)
+    int fanOut(@Param("authorId") Long authorId,
+            @Param("blogId") Long blogId,
+            @Param("createdAt") Instant createdAt);
+
+    // New follow: pull the author's latest blogs into the follower's timeline
+    @Modifying
+    @Query(value = "INSERT INTO timeline_entries (follower_id, author_id, blog_id, created_at) "
+            + "SELECT :followerId, b.user_id, b.id, b.created_at FROM blogs b WHERE b.user_id = :authorId "
+            + "ORDER BY b.created_at DESC, b.id DESC LIMIT :limit "
+            + "ON CONFLICT (follower_id, blog_id) DO NOTHING", nativeQuery = true)
+    int backfillFromAuthor(@Param("followerId") Long followerId,
+            @Param("authorId") Long authorId,
+            @Param("limit") int limit);
+
+    // Timeline never materialized yet (e.g. follows created before timelines existed)
+    @Modifying
+    @Query(value = "INSERT INTO timeline_entries (follower_id, author_id, blog_id, created_at) "
+            + "SELECT :followerId, b.user_id, b.id, b.created_at FROM blogs b "
+            + "JOIN follows f ON f.following_id = b.user_id WHERE f.follower_id = :followerId "
+            + "ORDER BY b.created_at DESC, b.id DESC LIMIT :limit "
+            + "ON CONFLICT (follower_id, blog_id) DO NOTHING", nativeQuery = true)
+    int rebuild(@Param("followerId") Long followerId, @Param("limit") int limit);
+
+    // Keep at most :maxLength entries for each follower of :authorId; every follower
+    // is one backward range scan of idx_timeline_follower_created
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM timeline_entries WHERE id IN ("
+            + "SELECT old.id FROM follows f CROSS JOIN LATERAL ("
+            + "SELECT t.id FROM timeline_entries t WHERE t.follower_id = f.follower_id "
+            + "ORDER BY t.created_at DESC, t.blog_id DESC OFFSET :maxLength) old "
+            + "WHERE f.following_id = :authorId)", nativeQuery = true)
+    int trimFollowersOf(@Param("authorId") Long authorId, @Param("maxLength") int maxLength);
+
+    @Modifying
+    @Query(value = "DELETE FROM timeline_entries WHERE id IN ("
+            + "SELECT t.id FROM timeline_entries t WHERE t.follower_id = :followerId "
+            + "ORDER BY t.created_at DESC, t.blog_id DESC OFFSET :maxLength)", nativeQuery = true)
+    int trimFollower(@Param("followerId") Long followerId, @Param("maxLength") int maxLength);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntryEntity t WHERE t.followerId = :followerId AND t.authorId = :authorId")
+    void deleteByFollowerIdAndAuthorId(@Param("followerId") Long followerId, @Param("authorId") Long authorId);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntryEntity t WHERE t.followerId = :userId OR t.authorId = :userId")
+    void deleteAllByUserId(@Param("userId") Long userId);
+}
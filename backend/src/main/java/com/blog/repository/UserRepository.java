@@ -41,4 +41,11 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
         @Query("SELECT u FROM UserEntity u WHERE u.banned = false")
         Page<UserEntity> findNonBannedUsers(Pageable pageable);
 
+        // Ids only, for the in-memory token revocation registry
+        @Query("SELECT u.id FROM UserEntity u")
+        List<Long> findAllIds();
+
+        @Query("SELECT u.id FROM UserEntity u WHERE u.banned = true")
+        List<Long> findBannedIds();
+
 }
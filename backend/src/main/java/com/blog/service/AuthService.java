@@ -8,4 +8,7 @@ import com.blog.dto.LoginResponse;
 public interface AuthService {
     public LoginResponse login(LoginRequest request);
 
+    // Revokes the token's jti until it expires
+    public void logout(String token);
+
 }
@@ -6,6 +6,8 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import com.blog.config.JwtService;
+import com.blog.config.TokenRevocationRegistry;
+import com.blog.config.VerifiedToken;
 import com.blog.dto.LoginRequest;
 import com.blog.dto.LoginResponse;
 import com.blog.entity.UserEntity;
@@ -20,6 +22,8 @@ public class AuthServiceImpl implements AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final UserRepository userRepository;
+    private final UserCacheService userCacheService;
+    private final TokenRevocationRegistry revocationRegistry;
 
     @Override
     public LoginResponse login(LoginRequest request) {
@@ -29,11 +33,17 @@ public class AuthServiceImpl implements AuthService {
             new UsernamePasswordAuthenticationToken(principal, request.password())
         );
 
-        UserEntity user = userRepository.findByUsername(principal)
+        UserEntity user = userCacheService.findByUsername(principal)
             .orElseGet(() -> userRepository.findByEmail(principal)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + principal)));
 
         String token = jwtService.generateToken( user.getId(),user.getUsername(), user.getRole());
         return new LoginResponse(token, user.getId(), user.getUsername(), user.getEmail(), user.getRole());
     }
+
+    @Override
+    public void logout(String token) {
+        VerifiedToken verified = jwtService.verify(token);
+        revocationRegistry.revoke(verified.jti(), verified.expiresAt());
+    }
 }
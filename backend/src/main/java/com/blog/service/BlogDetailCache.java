@@ -0,0 +1,128 @@
+package com.blog.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.blog.dto.BlogResponse;
+import com.blog.dto.CacheStatsResponse;
+import com.blog.event.BlogChangedEvent;
+import com.blog.event.BlogCountersChangedEvent;
+import com.blog.event.UserBannedEvent;
+import com.blog.event.UserDeletedEvent;
+import com.blog.event.UserUnbannedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Assembled BlogResponse per blog id, shared by all viewers (BlogResponse is
+ * immutable; access checks stay with the caller).
+ *
+ * - invalidated after commit by BlogChangedEvent and by moderation of the author
+ * - like/comment counters are patched in place from BlogCountersChangedEvent
+ * - ttl-seconds bounds everything else (media variants finishing, reconciled
+ *   counters, races between a load and a patch)
+ */
+@Component
+public class BlogDetailCache {
+
+    private record Counters(LongAdder hits, LongAdder misses) {}
+
+    private final Cache<Long, BlogResponse> cache;
+    // Hit ratio per endpoint
+    private final Map<String, Counters> endpoints = new ConcurrentHashMap<>();
+
+    public BlogDetailCache(
+            @Value("${blog.cache.blogs.max-size:10000}") long maxSize,
+            @Value("${blog.cache.blogs.ttl-seconds:60}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param endpoint label the hit ratio is reported under
+     * @return null when the loader returns null (not cached)
+     */
+    public BlogResponse get(Long blogId, String endpoint, Function<Long, BlogResponse> loader) {
+        Counters counters = endpoints.computeIfAbsent(endpoint, key -> new Counters(new LongAdder(), new LongAdder()));
+        BlogResponse cached = cache.getIfPresent(blogId);
+        if (cached != null) {
+            counters.hits().increment();
+            return cached;
+        }
+        counters.misses().increment();
+        // One load per id at a time; an invalidation waits for a running load
+        return cache.get(blogId, loader);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogChanged(BlogChangedEvent event) {
+        cache.invalidate(event.blogId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountersChanged(BlogCountersChangedEvent event) {
+        cache.asMap().computeIfPresent(event.blogId(), (id, blog) -> blog.withCounts(
+                add(blog.likeCount(), event.likeDelta()),
+                add(blog.commentCount(), event.commentDelta())));
+    }
+
+    // The author (banned flag) is embedded in every cached blog of theirs
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBanned(UserBannedEvent event) {
+        evictAuthor(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUnbanned(UserUnbannedEvent event) {
+        evictAuthor(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeleted(UserDeletedEvent event) {
+        evictAuthor(event.userId());
+    }
+
+    public Map<String, CacheStatsResponse> stats() {
+        long size = cache.estimatedSize();
+        long evictions = cache.stats().evictionCount();
+        Map<String, CacheStatsResponse> stats = new LinkedHashMap<>();
+        long hits = 0;
+        long misses = 0;
+        for (Map.Entry<String, Counters> entry : endpoints.entrySet()) {
+            long endpointHits = entry.getValue().hits().sum();
+            long endpointMisses = entry.getValue().misses().sum();
+            stats.put(entry.getKey(), toResponse(size, endpointHits, endpointMisses, evictions));
+            hits += endpointHits;
+            misses += endpointMisses;
+        }
+        stats.put("all", toResponse(size, hits, misses, evictions));
+        return stats;
+    }
+
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+    private void evictAuthor(Long userId) {
+        cache.asMap().values().removeIf(blog -> blog.author() != null && userId.equals(blog.author().id()));
+    }
+
+    private static Long add(Long count, long delta) {
+        return delta == 0 ? count : Math.max(0L, (count == null ? 0L : count) + delta);
+    }
+
+    private static CacheStatsResponse toResponse(long size, long hits, long misses, long evictions) {
+        long requests = hits + misses;
+        return new CacheStatsResponse(size, hits, misses, requests == 0 ? 1.0 : (double) hits / requests, evictions);
+    }
+}
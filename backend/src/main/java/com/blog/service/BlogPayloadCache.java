@@ -0,0 +1,165 @@
+package com.blog.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import com.blog.dto.ApiResponse;
+import com.blog.dto.BlogResponse;
+import com.blog.dto.CacheStatsResponse;
+import com.blog.event.BlogChangedEvent;
+import com.blog.exception.JsonWriteException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Already encoded GET /blogs/{id} bodies (blog.cache.blogs.serialized.enabled):
+ * UTF-8 JSON of the ApiResponse envelope plus its gzip, returned as byte[] so the
+ * response is a memory copy instead of a Jackson pass over up to 10k chars.
+ *
+ * - bytes are produced by MVC's own JSON converter, so they match the normal path
+ * - an entry is tied to the BlogResponse it was encoded from. BlogDetailCache
+ *   replaces that record on every change (updatedAt, counters, media, author), so a
+ *   changed blog never matches old bytes (identity check first, equals as fallback)
+ * - bounded by total bytes, not entries
+ */
+@Component
+public class BlogPayloadCache {
+
+    private record Payload(BlogResponse source, String message, byte[] json, byte[] gzip) {
+        boolean encodes(BlogResponse blog, String message) {
+            return (source == blog || source.equals(blog)) && this.message.equals(message);
+        }
+    }
+
+    private final boolean enabled;
+    private final Cache<Long, Payload> cache;
+    private final ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+    private volatile HttpMessageConverter<Object> jsonConverter;
+
+    public BlogPayloadCache(
+            @Value("${blog.cache.blogs.serialized.enabled:false}") boolean enabled,
+            @Value("${blog.cache.blogs.serialized.max-size:64MB}") DataSize maxSize,
+            ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter) {
+        this.enabled = enabled;
+        this.handlerAdapter = handlerAdapter;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Long id, Payload payload) -> payload.json().length + payload.gzip().length)
+                .recordStats()
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 200 response carrying ApiResponse(200, message, blog) as pre-encoded bytes,
+     * gzip'd when the client accepts it.
+     */
+    public ResponseEntity<Object> response(BlogResponse blog, String message, String acceptEncoding) {
+        Payload payload = cache.getIfPresent(blog.id());
+        if (payload == null || !payload.encodes(blog, message)) {
+            payload = encode(blog, message);
+            cache.put(blog.id(), payload);
+        }
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(gzip ? payload.gzip() : payload.json());
+    }
+
+    // Only frees memory early: changed blogs never match their old bytes anyway
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogChanged(BlogChangedEvent event) {
+        cache.invalidate(event.blogId());
+    }
+
+    public Map<String, CacheStatsResponse> stats() {
+        CacheStats stats = cache.stats();
+        return Map.of("payloads", new CacheStatsResponse(
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()));
+    }
+
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+    private Payload encode(BlogResponse blog, String message) {
+        try {
+            ByteArrayOutputStream json = new ByteArrayOutputStream(8192);
+            converter().write(new ApiResponse(200, message, blog), MediaType.APPLICATION_JSON, new HttpOutputMessage() {
+                private final HttpHeaders headers = new HttpHeaders();
+
+                @Override
+                public OutputStream getBody() {
+                    return json;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return headers;
+                }
+            });
+            byte[] jsonBytes = json.toByteArray();
+
+            ByteArrayOutputStream gzip = new ByteArrayOutputStream(jsonBytes.length / 3 + 64);
+            try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+                out.write(jsonBytes);
+            }
+            return new Payload(blog, message, jsonBytes, gzip.toByteArray());
+        } catch (IOException e) {
+            throw new JsonWriteException("Failed to serialize blog", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpMessageConverter<Object> converter() {
+        HttpMessageConverter<Object> converter = jsonConverter;
+        if (converter == null) {
+            converter = (HttpMessageConverter<Object>) handlerAdapter.getObject().getMessageConverters().stream()
+                    .filter(candidate -> candidate.canWrite(ApiResponse.class, MediaType.APPLICATION_JSON))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No JSON message converter"));
+            jsonConverter = converter;
+        }
+        return converter;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return !(parts.length > 1 && parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?"));
+            }
+        }
+        return false;
+    }
+}
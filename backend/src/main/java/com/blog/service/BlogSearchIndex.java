@@ -0,0 +1,108 @@
+package com.blog.service;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.blog.config.SchemaMigration;
+
+/**
+ * Full-text search column of blogs (Postgres), a schema migration step:
+ *
+ * - blogs.search_vector: tsvector over title (weight A) and content (B), set by the
+ *   blogs_search_vector trigger on every insert and on updates of title/content
+ * - existing rows are filled in batches of BACKFILL_BATCH, one short transaction each
+ * - idx_blogs_search: GIN index on it, built CONCURRENTLY so writes continue
+ *
+ * A plain nullable column is added without rewriting blogs (a STORED generated column
+ * rewrites the whole table under ACCESS EXCLUSIVE); a column created that way by an
+ * earlier version is turned into a plain one. Rows still NULL are simply not found.
+ */
+@Component
+@Order(4)
+public class BlogSearchIndex implements SchemaMigration {
+
+    // Must match BlogSearchService; the trigger needs a fixed configuration
+    static final String CONFIG = "english";
+
+    // pg_advisory_xact_lock key, so only one instance changes the schema
+    private static final long MIGRATION_LOCK = 7_300_216L;
+    private static final int BACKFILL_BATCH = 1000;
+
+    private static final String VECTOR = "setweight(to_tsvector('" + CONFIG + "', coalesce(%1$s.title, '')), 'A') || "
+            + "setweight(to_tsvector('" + CONFIG + "', coalesce(%1$s.content, '')), 'B')";
+
+    private static final String TRIGGER_FUNCTION = "CREATE OR REPLACE FUNCTION blogs_search_vector_update() "
+            + "RETURNS trigger LANGUAGE plpgsql AS $$ BEGIN "
+            + "NEW.search_vector := " + VECTOR.formatted("NEW") + "; RETURN NEW; END $$";
+
+    private static final String BACKFILL = "UPDATE blogs b SET search_vector = " + VECTOR.formatted("b")
+            + " WHERE b.id > ? AND b.id <= ? AND b.search_vector IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public BlogSearchIndex(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void migrate() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, MIGRATION_LOCK);
+            String generated = jdbcTemplate.query(
+                    "SELECT is_generated FROM information_schema.columns "
+                            + "WHERE table_schema = 'public' AND table_name = 'blogs' AND column_name = 'search_vector'",
+                    rs -> rs.next() ? rs.getString(1) : null);
+            if (generated == null) {
+                jdbcTemplate.execute("ALTER TABLE blogs ADD COLUMN search_vector tsvector");
+            } else if ("ALWAYS".equals(generated)) {
+                // Catalog change only: the stored values stay, the trigger maintains them from now on
+                jdbcTemplate.execute("ALTER TABLE blogs ALTER COLUMN search_vector DROP EXPRESSION");
+            }
+            jdbcTemplate.execute(TRIGGER_FUNCTION);
+            jdbcTemplate.execute("CREATE OR REPLACE TRIGGER blogs_search_vector BEFORE INSERT OR UPDATE OF title, content "
+                    + "ON blogs FOR EACH ROW EXECUTE FUNCTION blogs_search_vector_update()");
+        });
+
+        backfill();
+
+        // A failed CONCURRENTLY build leaves an invalid index that IF NOT EXISTS would keep
+        Boolean invalid = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM pg_index i "
+                + "JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = 'idx_blogs_search' AND NOT i.indisvalid)",
+                Boolean.class);
+        if (Boolean.TRUE.equals(invalid)) {
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS idx_blogs_search");
+        }
+        // Outside a transaction: CONCURRENTLY is not allowed inside one
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_blogs_search ON blogs USING GIN (search_vector)");
+    }
+
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+    // Rows written meanwhile get their vector from the trigger, so one pass over the ids is enough
+    private void backfill() {
+        Boolean pending = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM blogs WHERE search_vector IS NULL)", Boolean.class);
+        if (!Boolean.TRUE.equals(pending)) {
+            return;
+        }
+
+        long filled = 0;
+        long last = 0;
+        while (true) {
+            Long upper = jdbcTemplate.queryForObject(
+                    "SELECT max(id) FROM (SELECT id FROM blogs WHERE id > ? ORDER BY id LIMIT ?) batch",
+                    Long.class, last, BACKFILL_BATCH);
+            if (upper == null) {
+                break;
+            }
+            filled += jdbcTemplate.update(BACKFILL, last, upper);
+            last = upper;
+        }
+        System.err.println("Filled blogs.search_vector for " + filled + " blogs");
+    }
+}
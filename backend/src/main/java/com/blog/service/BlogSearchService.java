@@ -0,0 +1,141 @@
+package com.blog.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.blog.dto.BlogResponse;
+import com.blog.dto.BlogRow;
+import com.blog.dto.BlogSearchHit;
+import com.blog.dto.BlogSearchPageResponse;
+import com.blog.helper.RankCursor;
+import com.blog.mapper.BlogMapper;
+
+/**
+ * GET /blogs/search: visible blogs matching a web-style query ("quoted phrase",
+ * -excluded, or), best ts_rank first, over the GIN-indexed blogs.search_vector
+ * (see BlogSearchIndex).
+ *
+ * - only the maxCandidates most recent matches are ranked (GIN match, then top-N on
+ *   created_at), so a common term costs the same as a rare one; older matches past
+ *   that bound are not returned
+ * - keyset pages on (rank DESC, id DESC), no OFFSET
+ * - the page is picked on ids and ranks alone; rows, authors and ts_headline are
+ *   computed for those page rows only
+ */
+@Service
+public class BlogSearchService {
+
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private static final String RANK = "ts_rank(b.search_vector, q.query)";
+    // Content is HTML-escaped before highlighting, so only the <mark> tags are markup
+    private static final String ESCAPED_CONTENT =
+            "replace(replace(replace(coalesce(b.content, ''), '&', '&amp;'), '<', '&lt;'), '>', '&gt;')";
+    private static final String HEADLINE_OPTIONS =
+            "StartSel=<mark>, StopSel=</mark>, MaxWords=35, MinWords=15, MaxFragments=2, FragmentDelimiter=\" … \"";
+
+    private static final String SEARCH = "WITH q AS (SELECT websearch_to_tsquery('" + BlogSearchIndex.CONFIG
+            + "', ?) AS query), "
+            + "candidates AS (SELECT b.id FROM blogs b CROSS JOIN q "
+            + "WHERE b.search_vector @@ q.query AND b.visible = true "
+            + "ORDER BY b.created_at DESC, b.id DESC LIMIT ?), "
+            + "page AS (SELECT b.id, " + RANK + " AS rank FROM candidates c JOIN blogs b ON b.id = c.id "
+            + "CROSS JOIN q WHERE true %s "
+            + "ORDER BY rank DESC, b.id DESC LIMIT ?) "
+            + "SELECT b.id, b.title, b.content, b.media, b.visible, b.like_count, b.comment_count, "
+            + "b.created_at, b.updated_at, u.id AS author_id, u.username, u.email, u.role, u.banned, "
+            + "u.created_at AS author_created_at, page.rank, "
+            + "ts_headline('" + BlogSearchIndex.CONFIG + "', " + ESCAPED_CONTENT + ", q.query, '"
+            + HEADLINE_OPTIONS + "') AS highlight "
+            + "FROM page JOIN blogs b ON b.id = page.id JOIN users u ON u.id = b.user_id CROSS JOIN q "
+            + "ORDER BY page.rank DESC, page.id DESC";
+    private static final String AFTER = "AND (" + RANK + " < ? OR (" + RANK + " = ? AND b.id < ?))";
+
+    private record Hit(BlogRow row, float rank, String highlight) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MediaDerivativeService mediaDerivativeService;
+    private final int maxCandidates;
+
+    public BlogSearchService(
+            JdbcTemplate jdbcTemplate,
+            MediaDerivativeService mediaDerivativeService,
+            @Value("${blog.search.max-candidates:1000}") int maxCandidates) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mediaDerivativeService = mediaDerivativeService;
+        this.maxCandidates = Math.max(MAX_PAGE_SIZE, maxCandidates);
+    }
+
+    /**
+     * @param after nextCursor of the previous page, blank for the first one
+     */
+    public BlogSearchPageResponse search(String query, String after, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query is too long");
+        }
+        RankCursor cursor = RankCursor.decode(after);
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // one extra row tells us whether a next page exists
+        List<Hit> hits = cursor == null
+                ? jdbcTemplate.query(SEARCH.formatted(""), this::mapHit, query.trim(), maxCandidates, limit + 1)
+                : jdbcTemplate.query(SEARCH.formatted(AFTER), this::mapHit,
+                        query.trim(), maxCandidates, cursor.rank(), cursor.rank(), cursor.id(), limit + 1);
+
+        boolean hasNext = hits.size() > limit;
+        List<Hit> page = hasNext ? hits.subList(0, limit) : hits;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Hit last = page.get(page.size() - 1);
+            nextCursor = RankCursor.of(last.rank(), last.row().id()).encode();
+        }
+
+        List<BlogResponse> blogs = mediaDerivativeService.withMediaItems(
+                page.stream().map(hit -> BlogMapper.toResponse(hit.row())).toList());
+        List<BlogSearchHit> results = new ArrayList<>(page.size());
+        for (int i = 0; i < page.size(); i++) {
+            results.add(new BlogSearchHit(blogs.get(i), page.get(i).highlight()));
+        }
+        return new BlogSearchPageResponse(results, nextCursor);
+    }
+
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+    private Hit mapHit(ResultSet rs, int rowNum) throws SQLException {
+        BlogRow row = new BlogRow(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("content"),
+                rs.getString("media"),
+                rs.getObject("visible", Boolean.class),
+                rs.getObject("like_count", Long.class),
+                rs.getObject("comment_count", Long.class),
+                instant(rs.getTimestamp("created_at")),
+                instant(rs.getTimestamp("updated_at")),
+                rs.getLong("author_id"),
+                rs.getString("username"),
+                rs.getString("email"),
+                rs.getString("role"),
+                rs.getObject("banned", Boolean.class),
+                instant(rs.getTimestamp("author_created_at")));
+        return new Hit(row, rs.getFloat("rank"), rs.getString("highlight"));
+    }
+
+    private static Instant instant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.blog.dto.BlogPageResponse;
 import com.blog.dto.BlogResponse;
 
 @Service
@@ -18,6 +19,20 @@ public interface BlogService {
             List<MultipartFile> mediaFiles,
             String username);
 
+    // ✅ Media already stored (streamed upload)
+    public BlogResponse createBlogWithMedia(
+            String title,
+            String content,
+            List<String> mediaPaths,
+            String username);
+
+    // ✅ Media uploaded directly to the object store; references are taken here
+    public BlogResponse createBlogFromUploads(
+            String title,
+            String content,
+            List<String> mediaPaths,
+            String username);
+
     public BlogResponse updateBlog(
             Long id,
             String title,
@@ -33,4 +48,9 @@ public interface BlogService {
 
     List<BlogResponse> getFollowingBlogs(String username, int page, int size);
 
+    // ✅ Keyset (cursor) variants: after is the opaque nextCursor of the previous page
+    BlogPageResponse getUserBlogsAfter(Long profileUserId, String currentUsername, String after, int size);
+
+    BlogPageResponse getFollowingBlogsAfter(String username, String after, int size);
+
 }
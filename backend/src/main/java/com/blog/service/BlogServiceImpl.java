@@ -11,30 +11,32 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.blog.dto.BlogPageResponse;
 import com.blog.dto.BlogResponse;
+import com.blog.dto.BlogRow;
 import com.blog.entity.BlogEntity;
-import com.blog.entity.FollowEntity;
 import com.blog.entity.UserEntity;
+import com.blog.event.BlogChangedEvent;
+import com.blog.event.BlogPublishedEvent;
 import com.blog.exception.AccessDeniedException;
 import com.blog.exception.JsonWriteException;
 import com.blog.exception.ResourceNotFoundException;
+import com.blog.helper.KeysetCursor;
 import com.blog.helper.MediaValidator;
 import com.blog.mapper.BlogMapper;
 import com.blog.repository.BlogRepository;
 import com.blog.repository.CommentRepository;
-import com.blog.repository.FollowRepository;
 import com.blog.repository.LikeRepository;
-import com.blog.repository.UserRepository;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -49,50 +51,69 @@ public class BlogServiceImpl implements BlogService {
     @Autowired
     private LikeRepository likeRepository;
 
-    @Autowired
-    private FollowRepository followRepository;
-
     @Autowired
     private CommentRepository commentRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserCacheService userCacheService;
 
     @Autowired
     private MediaStorageService mediaStorageService;
 
     @Autowired
-    private NotificationServiceImpl notificationService;
+    private ApplicationEventPublisher eventPublisher;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Autowired
+    private TimelineService timelineService;
 
-    @Override
-    public BlogResponse getBlogDetails(Long id) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String currentUsername = auth.getName();
+    @Autowired
+    private MediaDerivativeService mediaDerivativeService;
 
-        UserEntity currentUser = userRepository.findByUsername(currentUsername).orElse(null);
+    @Autowired
+    private BlogDetailCache blogDetailCache;
 
-        BlogEntity blog = blogRepository.findByIdAndVisibleTrue(id).orElse(null);
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
+    @Override
+    public BlogResponse getBlogDetails(Long id) {
+        BlogResponse blog = blogDetailCache.get(id, "GET /blogs/{id}", this::loadBlogDetails);
         if (blog == null) {
-            blog = blogRepository.findById(id).orElse(null);
-            if (blog == null) {
-                throw new ResourceNotFoundException("Blog not found");
-            }
+            throw new ResourceNotFoundException("Blog not found");
         }
 
-        boolean owner = isOwner(blog, currentUser);
+        // ✅ Visible blogs need no user lookup at all
+        if (Boolean.TRUE.equals(blog.visible())) {
+            return blog;
+        }
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        UserEntity currentUser = userCacheService.findByUsername(auth.getName()).orElse(null);
+
+        boolean owner = currentUser != null && blog.author().id().equals(currentUser.getId());
         boolean admin = isAdmin(currentUser);
 
-        if (!blog.getVisible() && !owner && !admin) {
+        if (!owner && !admin) {
             throw new ResourceNotFoundException("Blog not found");
         }
+        return blog;
+    }
 
-        blog.setLike_count(likeRepository.countByBlog_Id(id));
-        blog.setComment_count(commentRepository.countByBlog_Id(id));
+    // Shared cache entry: no per-viewer data in here
+    private BlogResponse loadBlogDetails(Long id) {
+        BlogEntity blog = blogRepository.findById(id).orElse(null);
+        if (blog == null) {
+            return null;
+        }
+
+        // Counters are maintained atomically; only rows created before that need a recount
+        if (blog.getLike_count() == null) {
+            blog.setLike_count(likeRepository.countByBlog_Id(id));
+        }
+        if (blog.getComment_count() == null) {
+            blog.setComment_count(commentRepository.countByBlog_Id(id));
+        }
 
-        return BlogMapper.toResponse(blog);
+        return mediaDerivativeService.withMediaItems(BlogMapper.toResponse(blog));
     }
 
     @Override
@@ -103,13 +124,49 @@ public class BlogServiceImpl implements BlogService {
             List<MultipartFile> mediaFiles,
             String username) {
 
-        UserEntity user = userRepository.findByUsername(username)
+        UserEntity user = userCacheService.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         MediaValidator.validate(mediaFiles);
 
         List<String> mediaPaths = mediaStorageService.store(mediaFiles);
 
+        return saveNewBlog(title, content, mediaPaths, user);
+    }
+
+    @Override
+    @Transactional
+    public BlogResponse createBlogWithMedia(
+            String title,
+            String content,
+            List<String> mediaPaths,
+            String username) {
+
+        UserEntity user = userCacheService.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        return saveNewBlog(title, content, mediaPaths, user);
+    }
+
+    @Override
+    @Transactional
+    public BlogResponse createBlogFromUploads(
+            String title,
+            String content,
+            List<String> mediaPaths,
+            String username) {
+
+        UserEntity user = userCacheService.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        if (mediaPaths != null) {
+            MediaValidator.validateCount(mediaPaths.size());
+        }
+
+        return saveNewBlog(title, content, mediaStorageService.claim(mediaPaths), user);
+    }
+
+    private BlogResponse saveNewBlog(String title, String content, List<String> mediaPaths, UserEntity user) {
         String mediaJson;
         try {
             mediaJson = objectMapper.writeValueAsString(mediaPaths);
@@ -130,16 +187,11 @@ public class BlogServiceImpl implements BlogService {
 
         BlogEntity saved = blogRepository.save(blog);
 
-        List<FollowEntity> followers = followRepository.findByFollowing_Id(user.getId());
-        for (FollowEntity f : followers) {
-            notificationService.createNotification(
-                    f.getFollower().getId(),
-                    "NEW_BLOG",
-                    user.getUsername() + " posted a new blog",
-                    saved.getId());
-        }
+        // ✅ Timeline fan-out + follower notifications run after commit, off the request thread
+        eventPublisher.publishEvent(new BlogPublishedEvent(
+                saved.getId(), user.getId(), user.getUsername(), saved.getCreatedAt()));
 
-        return BlogMapper.toResponse(saved);
+        return mediaDerivativeService.withMediaItems(BlogMapper.toResponse(saved));
     }
 
     // ─────────────────────────────────────────────
@@ -156,7 +208,7 @@ public class BlogServiceImpl implements BlogService {
             List<String> keepMedia,
             String username) {
 
-        UserEntity user = userRepository.findByUsername(username)
+        UserEntity user = userCacheService.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         BlogEntity blog = blogRepository.findById(id)
@@ -182,7 +234,12 @@ public class BlogServiceImpl implements BlogService {
         // 2) NEW MODE: update even if no new files
         if (shouldUpdateMedia) {
 
-            List<String> keep = (keepMedia == null) ? List.of() : keepMedia;
+            // Only entries this blog already has: keeping any other path would list a file
+            // without taking a reference to it (and a later delete would release someone else's)
+            List<String> keep = (keepMedia == null) ? List.of() : keepMedia.stream()
+                    .filter(oldMedia::contains)
+                    .distinct()
+                    .toList();
 
             // Delete removed = old - keep
             List<String> toDelete = oldMedia.stream()
@@ -227,7 +284,8 @@ public class BlogServiceImpl implements BlogService {
 
         blog.setUpdatedAt(Instant.now());
         BlogEntity saved = blogRepository.save(blog);
-        return BlogMapper.toResponse(saved);
+        eventPublisher.publishEvent(new BlogChangedEvent(id));
+        return mediaDerivativeService.withMediaItems(BlogMapper.toResponse(saved));
     }
 
     // ─────────────────────────────────────────────
@@ -236,7 +294,7 @@ public class BlogServiceImpl implements BlogService {
     @Override
     @Transactional
     public void deleteBlog(Long id, String username) {
-        UserEntity user = userRepository.findByUsername(username)
+        UserEntity user = userCacheService.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         BlogEntity blog = blogRepository.findById(id)
@@ -254,58 +312,99 @@ public class BlogServiceImpl implements BlogService {
         mediaStorageService.delete(oldMedia);
 
         blogRepository.delete(blog);
+        eventPublisher.publishEvent(new BlogChangedEvent(id));
     }
 
     @Override
     public List<BlogResponse> getUserBlogs(Long profileUserId, String currentUsername, int page, int size) {
-        Pageable pageable = PageRequest.of(
-                page,
-                size,
-                Sort.by(Sort.Direction.DESC, "createdAt"));
+        // ordering (createdAt DESC, id DESC) is part of the row queries
+        Pageable pageable = PageRequest.of(page, size);
 
         Long currentUserId = null;
         if (currentUsername != null) {
-            currentUserId = userRepository.findByUsername(currentUsername)
+            currentUserId = userCacheService.findByUsername(currentUsername)
                     .map(UserEntity::getId)
                     .orElse(null);
         }
 
-        Page<BlogEntity> blogs;
+        List<BlogRow> blogs;
         if (currentUserId != null && currentUserId.equals(profileUserId)) {
-            blogs = blogRepository.findByUserIdIdOrderByCreatedAtDesc(profileUserId, pageable);
+            blogs = blogRepository.findUserBlogRows(profileUserId, pageable);
         } else {
-            blogs = blogRepository.findByUserIdIdAndVisibleTrueOrderByCreatedAtDesc(profileUserId, pageable);
+            blogs = blogRepository.findVisibleUserBlogRows(profileUserId, pageable);
         }
 
-        return blogs.getContent().stream()
+        return mediaDerivativeService.withMediaItems(blogs.stream()
                 .map(BlogMapper::toResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     @Override
     public List<BlogResponse> getFollowingBlogs(String username, int page, int size) {
-        var me = userRepository.findByUsername(username)
+        var me = userCacheService.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-        List<Long> followedIds = followRepository.findFollowingIdsByFollowerId(me.getId());
-        if (followedIds.isEmpty())
-            return List.of();
+        // ✅ Precomputed timeline instead of IN (all followed ids)
+        return mediaDerivativeService.withMediaItems(timelineService.getTimeline(me.getId(), page, size).stream()
+                .map(BlogMapper::toResponse)
+                .toList());
+    }
 
-        Pageable pageable = PageRequest.of(
-                page,
-                size,
-                Sort.by(Sort.Direction.DESC, "createdAt"));
+    @Override
+    public BlogPageResponse getUserBlogsAfter(Long profileUserId, String currentUsername, String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Pageable pageable = PageRequest.of(0, size);
 
-        var pageResult = blogRepository.findByUserIdsAndVisibleTrue(followedIds, pageable);
+        Long currentUserId = null;
+        if (currentUsername != null) {
+            currentUserId = userCacheService.findByUsername(currentUsername)
+                    .map(UserEntity::getId)
+                    .orElse(null);
+        }
+        boolean own = currentUserId != null && currentUserId.equals(profileUserId);
 
-        return pageResult.getContent().stream()
-                .map(BlogMapper::toResponse)
-                .toList();
+        Slice<BlogRow> blogs;
+        if (cursor == null) {
+            blogs = own
+                    ? blogRepository.findUserBlogSlice(profileUserId, pageable)
+                    : blogRepository.findVisibleUserBlogSlice(profileUserId, pageable);
+        } else {
+            blogs = own
+                    ? blogRepository.findUserBlogsBefore(profileUserId, cursor.createdAt(), cursor.id(), pageable)
+                    : blogRepository.findVisibleUserBlogsBefore(profileUserId, cursor.createdAt(), cursor.id(),
+                            pageable);
+        }
+
+        return toPage(blogs);
+    }
+
+    @Override
+    public BlogPageResponse getFollowingBlogsAfter(String username, String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+
+        var me = userCacheService.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+        return toPage(timelineService.getTimelineAfter(me.getId(), cursor, size));
     }
 
     // ─────────────────────────────────────────────
     // Helpers
     // ─────────────────────────────────────────────
+    private BlogPageResponse toPage(Slice<BlogRow> slice) {
+        List<BlogRow> content = slice.getContent();
+
+        String nextCursor = null;
+        if (slice.hasNext() && !content.isEmpty()) {
+            BlogRow last = content.get(content.size() - 1);
+            nextCursor = KeysetCursor.of(last.createdAt(), last.id()).encode();
+        }
+
+        return new BlogPageResponse(
+                mediaDerivativeService.withMediaItems(content.stream().map(BlogMapper::toResponse).toList()),
+                nextCursor);
+    }
+
     private boolean isAdmin(UserEntity user) {
         return user != null && "ADMIN".equalsIgnoreCase(user.getRole());
     }
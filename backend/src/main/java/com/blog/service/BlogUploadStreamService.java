@@ -0,0 +1,140 @@
+package com.blog.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.DiskFileItemFactory;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.core.FileUploadException;
+import org.apache.commons.fileupload2.core.FileUploadSizeException;
+import org.apache.commons.fileupload2.core.MultipartInput;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.blog.dto.BlogResponse;
+import com.blog.dto.StreamedBlogUpload;
+import com.blog.exception.JsonWriteException;
+import com.blog.helper.MediaValidator;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Streaming variant of blog creation (POST /blogs/stream).
+ *
+ * The multipart body is read part by part from the request stream: media parts are
+ * copied straight to their final file by MediaStorageService, so neither the heap
+ * nor a container temp file holds them (needs spring.servlet.multipart.resolve-lazily
+ * so the body is still unread when the controller runs).
+ */
+@Service
+public class BlogUploadStreamService {
+
+    private static final int MAX_FIELD_BYTES = 1024 * 1024;
+    // title + content + media
+    private static final int MAX_PARTS = 2 + MediaValidator.MAX_MEDIA_COUNT;
+
+    private final BlogService blogService;
+    private final MediaStorageService mediaStorageService;
+    private final long maxFileBytes;
+    private final long maxRequestBytes;
+
+    public BlogUploadStreamService(
+            BlogService blogService,
+            MediaStorageService mediaStorageService,
+            @Value("${blog.media.stream.max-file-size:200MB}") DataSize maxFileSize) {
+        this.blogService = blogService;
+        this.mediaStorageService = mediaStorageService;
+        this.maxFileBytes = maxFileSize.toBytes();
+        // Every part at its limit, plus room for boundaries and part headers
+        this.maxRequestBytes = MediaValidator.MAX_MEDIA_COUNT * maxFileBytes
+                + 2L * MAX_FIELD_BYTES
+                + (long) MAX_PARTS * (MultipartInput.DEFAULT_PART_HEADER_SIZE_MAX + 256);
+    }
+
+    public BlogResponse createBlog(HttpServletRequest request, String username) {
+        StreamedBlogUpload upload = read(request);
+        try {
+            return blogService.createBlogWithMedia(upload.title(), upload.content(), upload.mediaPaths(), username);
+        } catch (RuntimeException e) {
+            mediaStorageService.delete(upload.mediaPaths());
+            throw e;
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+    private StreamedBlogUpload read(HttpServletRequest request) {
+        if (!JakartaServletFileUpload.isMultipartContent(request)) {
+            throw new IllegalArgumentException("multipart/form-data expected");
+        }
+
+        JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory> upload = new JakartaServletFileUpload<>();
+        upload.setFileCountMax(MAX_PARTS);
+        // Part headers are capped by MultipartInput.DEFAULT_PART_HEADER_SIZE_MAX (not settable here)
+        upload.setFileSizeMax(Math.max(maxFileBytes, MAX_FIELD_BYTES));
+        upload.setSizeMax(maxRequestBytes);
+        String title = null;
+        String content = null;
+        List<String> mediaPaths = new ArrayList<>();
+        int parts = 0;
+        try {
+            FileItemInputIterator items = upload.getItemIterator(request);
+            while (items.hasNext()) {
+                FileItemInput item = items.next();
+                // parseRequest enforces fileCountMax; the streaming iterator is counted here
+                if (++parts > MAX_PARTS) {
+                    throw new IllegalArgumentException("Too many parts");
+                }
+                try (InputStream in = item.getInputStream()) {
+                    switch (item.getFieldName()) {
+                        case "title" -> title = readField(in);
+                        case "content" -> content = readField(in);
+                        case "media" -> {
+                            if (item.isFormField()) {
+                                throw new IllegalArgumentException("media must be a file part");
+                            }
+                            MediaValidator.validateCount(mediaPaths.size() + 1);
+                            mediaPaths.add(mediaStorageService.store(
+                                    in, item.getContentType(), item.getName(), maxFileBytes));
+                        }
+                        default -> throw new IllegalArgumentException("Unexpected part: " + item.getFieldName());
+                    }
+                }
+            }
+        } catch (FileUploadSizeException e) {
+            mediaStorageService.delete(mediaPaths);
+            throw new IllegalArgumentException("Upload exceeds the size limits");
+        } catch (FileUploadException e) {
+            mediaStorageService.delete(mediaPaths);
+            throw new IllegalArgumentException("Malformed multipart request");
+        } catch (IOException e) {
+            mediaStorageService.delete(mediaPaths);
+            throw new JsonWriteException("Failed to read upload", e);
+        } catch (RuntimeException e) {
+            mediaStorageService.delete(mediaPaths);
+            throw e;
+        }
+
+        if (title == null || content == null) {
+            mediaStorageService.delete(mediaPaths);
+            throw new IllegalArgumentException("title and content are required");
+        }
+        return new StreamedBlogUpload(title, content, mediaPaths);
+    }
+
+    private static String readField(InputStream in) throws IOException {
+        byte[] bytes = in.readNBytes(MAX_FIELD_BYTES + 1);
+        if (bytes.length > MAX_FIELD_BYTES) {
+            throw new IllegalArgumentException("Field too large");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -2,6 +2,7 @@ package com.blog.service;
 
 import org.springframework.stereotype.Service;
 
+import com.blog.dto.CommentPageResponse;
 import com.blog.dto.CommentRequest;
 import com.blog.dto.CommentResponse;
 
@@ -12,5 +13,8 @@ import java.util.List;
 public interface CommentService {
     CommentResponse createComment(Long blogId, CommentRequest request, String username);
     List<CommentResponse> getCommentsByBlogId(Long blogId);
+    // ✅ Keyset (cursor) pages, oldest first; threaded = top-level comments only
+    CommentPageResponse getCommentsAfter(Long blogId, String after, int size, boolean threaded);
+    CommentPageResponse getRepliesAfter(Long commentId, String after, int size);
     void deleteComment(Long commentId, String username);
 }
\ No newline at end of file
@@ -4,21 +4,28 @@ import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import com.blog.dto.CommentPageResponse;
 import com.blog.dto.CommentRequest;
 import com.blog.dto.CommentResponse;
+import com.blog.dto.CommentRow;
 import com.blog.entity.BlogEntity;
 import com.blog.entity.CommentEntity;
 import com.blog.entity.UserEntity;
+import com.blog.event.BlogCountersChangedEvent;
+import com.blog.event.CommentCreatedEvent;
 import com.blog.exception.AccessDeniedException;
 import com.blog.exception.BlogUnavailableException;
 import com.blog.exception.ResourceNotFoundException;
+import com.blog.helper.KeysetCursor;
 import com.blog.mapper.CommentMapper;
 import com.blog.repository.BlogRepository;
 import com.blog.repository.CommentRepository;
-import com.blog.repository.UserRepository;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -26,16 +33,17 @@ import lombok.RequiredArgsConstructor;
 @Service
 @RequiredArgsConstructor
 public class CommentServiceImpl implements CommentService {
+        private static final int MAX_PAGE_SIZE = 100;
+
         private final CommentRepository commentRepository;
-        private final UserRepository userRepository;
+        private final UserCacheService userCacheService;
         private final BlogRepository blogRepository;
-        @Autowired
-        private NotificationServiceImpl notificationService;
+        private final ApplicationEventPublisher eventPublisher;
 
         @Override
         @Transactional
         public CommentResponse createComment(Long blogId, CommentRequest request, String username) {
-                UserEntity user = userRepository.findByUsername(username)
+                UserEntity user = userCacheService.findByUsername(username)
                                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
                 BlogEntity blog = blogRepository.findById(blogId)
@@ -49,6 +57,7 @@ public class CommentServiceImpl implements CommentService {
                 CommentEntity comment = CommentEntity.builder()
                                 .blog(blog)
                                 .user(user)
+                                .parentId(threadOf(request.parentId(), blogId))
                                 .content(request.content())
                                 .createdAt(Instant.now())
                                 .updatedAt(Instant.now())
@@ -56,18 +65,15 @@ public class CommentServiceImpl implements CommentService {
 
                 comment = commentRepository.save(comment);
 
-                // Update comment count
-                blog.setComment_count(commentRepository.countByBlog_Id(blogId));
-                blogRepository.save(blog);
+                // Update comment count (atomic)
+                blogRepository.incrementCommentCount(blogId, 1);
+                eventPublisher.publishEvent(new BlogCountersChangedEvent(blogId, 0, 1));
 
-                // Create notification if not self-comment
+                // Create notification if not self-comment (after commit, async)
                 if (!blog.getUserId().getId().equals(user.getId())) {
-                        notificationService.createNotification(
-                                        blog.getUserId().getId(), // receiver = blog owner
-                                        "NEW_COMMENT",
-                                        user.getUsername() + " commented on your blog",
-                                        blogId // relatedId = blogId
-                        );
+                        eventPublisher.publishEvent(new CommentCreatedEvent(
+                                        comment.getId(), blogId, blog.getUserId().getId(),
+                                        user.getId(), user.getUsername()));
                 }
 
                 return CommentMapper.toResponse(comment);
@@ -75,17 +81,50 @@ public class CommentServiceImpl implements CommentService {
 
         @Override
         public List<CommentResponse> getCommentsByBlogId(Long blogId) {
-                List<CommentEntity> comments = commentRepository.findByBlog_Id(blogId);
+                // Complete list for older clients (one projection query, no entity graph);
+                // clients page with getCommentsAfter
+                Slice<CommentRow> comments = commentRepository.findBlogComments(blogId, Pageable.unpaged());
 
                 return comments.stream()
                                 .map(CommentMapper::toResponse)
                                 .collect(Collectors.toList());
         }
 
+        @Override
+        public CommentPageResponse getCommentsAfter(Long blogId, String after, int size, boolean threaded) {
+                KeysetCursor cursor = KeysetCursor.decode(after);
+                Pageable pageable = PageRequest.of(0, clamp(size));
+
+                Slice<CommentRow> comments;
+                if (cursor == null) {
+                        comments = threaded
+                                        ? commentRepository.findBlogThreads(blogId, pageable)
+                                        : commentRepository.findBlogComments(blogId, pageable);
+                } else {
+                        comments = threaded
+                                        ? commentRepository.findBlogThreadsAfter(blogId, cursor.createdAt(), cursor.id(), pageable)
+                                        : commentRepository.findBlogCommentsAfter(blogId, cursor.createdAt(), cursor.id(), pageable);
+                }
+
+                return toPage(comments);
+        }
+
+        @Override
+        public CommentPageResponse getRepliesAfter(Long commentId, String after, int size) {
+                KeysetCursor cursor = KeysetCursor.decode(after);
+                Pageable pageable = PageRequest.of(0, clamp(size));
+
+                Slice<CommentRow> replies = cursor == null
+                                ? commentRepository.findReplies(commentId, pageable)
+                                : commentRepository.findRepliesAfter(commentId, cursor.createdAt(), cursor.id(), pageable);
+
+                return toPage(replies);
+        }
+
         @Override
         @Transactional
         public void deleteComment(Long commentId, String username) {
-                UserEntity user = userRepository.findByUsername(username)
+                UserEntity user = userCacheService.findByUsername(username)
                                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
                 CommentEntity comment = commentRepository.findById(commentId)
@@ -97,12 +136,45 @@ public class CommentServiceImpl implements CommentService {
                 }
 
                 Long blogId = comment.getBlog().getId();
+                // A thread goes away with its top-level comment
+                int replies = comment.getParentId() == null ? commentRepository.deleteAllByParentId(commentId) : 0;
                 commentRepository.delete(comment);
 
-                // Update comment count
-                BlogEntity blog = blogRepository.findById(blogId)
-                                .orElseThrow(() -> new ResourceNotFoundException("Blog not found"));
-                blog.setComment_count(commentRepository.countByBlog_Id(blogId));
-                blogRepository.save(blog);
+                // Update comment count (atomic)
+                blogRepository.incrementCommentCount(blogId, -1 - replies);
+                eventPublisher.publishEvent(new BlogCountersChangedEvent(blogId, 0, -1 - replies));
+        }
+
+        // ─────────────────────────────────────────────
+        // Helpers
+        // ─────────────────────────────────────────────
+
+        // Replies attach to the top-level comment, so threads stay one level deep
+        private Long threadOf(Long parentId, Long blogId) {
+                if (parentId == null) {
+                        return null;
+                }
+                CommentEntity parent = commentRepository.findById(parentId)
+                                .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
+                if (!parent.getBlog().getId().equals(blogId)) {
+                        throw new IllegalArgumentException("Comment belongs to another blog");
+                }
+                return parent.getParentId() != null ? parent.getParentId() : parent.getId();
+        }
+
+        private CommentPageResponse toPage(Slice<CommentRow> slice) {
+                List<CommentRow> content = slice.getContent();
+
+                String nextCursor = null;
+                if (slice.hasNext() && !content.isEmpty()) {
+                        CommentRow last = content.get(content.size() - 1);
+                        nextCursor = KeysetCursor.of(last.createdAt(), last.id()).encode();
+                }
+
+                return new CommentPageResponse(content.stream().map(CommentMapper::toResponse).toList(), nextCursor);
+        }
+
+        private static int clamp(int size) {
+                return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
         }
 }
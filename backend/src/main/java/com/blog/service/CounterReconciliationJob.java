@@ -0,0 +1,63 @@
+package com.blog.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.blog.repository.BlogRepository;
+import com.blog.repository.NotificationCounterRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * like_count / comment_count are maintained with atomic +1/-1 updates.
+ * Paths that remove likes or comments in bulk (user deletion, blog moderation)
+ * don't touch the counters, so this job recounts from the source tables.
+ * Each id window runs in its own short transaction: the window's blog rows are
+ * locked first, then recounted (read committed gives the recount a snapshot taken
+ * after the lock, so no concurrent +1/-1 is lost).
+ * The per-user unread notification counters are repaired the same way, by user id
+ * window (writers update several counters in user_id order, like the window locks).
+ */
+@Component
+@RequiredArgsConstructor
+public class CounterReconciliationJob {
+
+    private static final long WINDOW_SIZE = 1_000;
+
+    private final BlogRepository blogRepository;
+    private final NotificationCounterRepository notificationCounterRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(initialDelay = 60 * 1000, fixedDelay = 15 * 60 * 1000)
+    public void reconcile() {
+        Long maxId = blogRepository.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+        for (long from = 1; from <= maxId; from += WINDOW_SIZE) {
+            long fromId = from;
+            long toId = from + WINDOW_SIZE - 1;
+            transactionTemplate.executeWithoutResult(status -> {
+                blogRepository.lockWindow(fromId, toId);
+                blogRepository.reconcileCounters(fromId, toId);
+            });
+        }
+    }
+
+    @Scheduled(initialDelay = 90 * 1000, fixedDelay = 15 * 60 * 1000)
+    public void reconcileUnreadNotifications() {
+        Long maxUserId = notificationCounterRepository.findMaxUserId();
+        if (maxUserId == null) {
+            return;
+        }
+        for (long from = 1; from <= maxUserId; from += WINDOW_SIZE) {
+            long fromId = from;
+            long toId = from + WINDOW_SIZE - 1;
+            transactionTemplate.executeWithoutResult(status -> {
+                notificationCounterRepository.lockWindow(fromId, toId);
+                notificationCounterRepository.reconcile(fromId, toId);
+            });
+        }
+    }
+}
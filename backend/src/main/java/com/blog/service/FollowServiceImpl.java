@@ -4,16 +4,17 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.blog.dto.FollowResponse;
 import com.blog.dto.FollowerListResponse;
 import com.blog.entity.FollowEntity;
 import com.blog.entity.UserEntity;
+import com.blog.event.UserFollowedEvent;
 import com.blog.exception.ResourceNotFoundException;
 import com.blog.mapper.FollowMapper;
 import com.blog.repository.FollowRepository;
-import com.blog.repository.UserRepository;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -23,16 +24,17 @@ import lombok.RequiredArgsConstructor;
 public class FollowServiceImpl implements FollowService {
 
         private final FollowRepository followRepository;
-        private final UserRepository userRepository;
-        private final NotificationService notificationService;
+        private final UserCacheService userCacheService;
+        private final ApplicationEventPublisher eventPublisher;
+        private final TimelineService timelineService;
 
         @Override
         @Transactional
         public FollowResponse toggleFollow(Long targetUserId, String currentUsername) {
-                UserEntity currentUser = userRepository.findByUsername(currentUsername)
+                UserEntity currentUser = userCacheService.findByUsername(currentUsername)
                                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-                UserEntity targetUser = userRepository.findById(targetUserId)
+                UserEntity targetUser = userCacheService.findById(targetUserId)
                                 .orElseThrow(() -> new ResourceNotFoundException("Target user not found"));
 
                 if (currentUser.getId().equals(targetUser.getId())) {
@@ -45,6 +47,7 @@ public class FollowServiceImpl implements FollowService {
                 boolean following;
                 if (existingFollow.isPresent()) {
                         followRepository.delete(existingFollow.get());
+                        timelineService.onUnfollow(currentUser.getId(), targetUser.getId());
                         following = false;
                 } else {
                         FollowEntity follow = FollowEntity.builder()
@@ -54,14 +57,12 @@ public class FollowServiceImpl implements FollowService {
                                         .updatedAt(Instant.now())
                                         .build();
                         followRepository.save(follow);
+                        timelineService.onFollow(currentUser.getId(), targetUser.getId());
                         following = true;
 
-                        notificationService.createNotification(
-                                        targetUser.getId(), // receiver = person being followed
-                                        "NEW_FOLLOWER",
-                                        currentUser.getUsername() + " started following you",
-                                        currentUser.getId() // relatedId = followerId (your choice)
-                        );
+                        // notification is created after commit, async
+                        eventPublisher.publishEvent(new UserFollowedEvent(
+                                        currentUser.getId(), currentUser.getUsername(), targetUser.getId()));
 
                 }
 
@@ -73,10 +74,10 @@ public class FollowServiceImpl implements FollowService {
 
         @Override
         public FollowResponse getFollowStatus(Long targetUserId, String currentUsername) {
-                UserEntity currentUser = userRepository.findByUsername(currentUsername)
+                UserEntity currentUser = userCacheService.findByUsername(currentUsername)
                                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-                UserEntity targetUser = userRepository.findById(targetUserId)
+                UserEntity targetUser = userCacheService.findById(targetUserId)
                                 .orElseThrow(() -> new ResourceNotFoundException("Target user not found"));
 
                 boolean following = followRepository
@@ -90,7 +91,7 @@ public class FollowServiceImpl implements FollowService {
 
         @Override
         public List<FollowerListResponse> getFollowers(Long userId) {
-                UserEntity user = userRepository.findById(userId)
+                UserEntity user = userCacheService.findById(userId)
                                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
                 List<FollowEntity> follows = followRepository.findByFollowing_Id(user.getId());
@@ -102,7 +103,7 @@ public class FollowServiceImpl implements FollowService {
 
         @Override
         public List<FollowerListResponse> getFollowing(Long userId) {
-                UserEntity user = userRepository.findById(userId)
+                UserEntity user = userCacheService.findById(userId)
                                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
                 List<FollowEntity> follows = followRepository.findByFollower_Id(user.getId());
@@ -1,5 +1,6 @@
 package com.blog.service;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -7,11 +8,12 @@ import com.blog.dto.LikeResponse;
 import com.blog.entity.BlogEntity;
 import com.blog.entity.LikeEntity;
 import com.blog.entity.UserEntity;
+import com.blog.event.BlogCountersChangedEvent;
+import com.blog.event.BlogLikedEvent;
 import com.blog.exception.BlogUnavailableException;
 import com.blog.exception.ResourceNotFoundException;
 import com.blog.repository.BlogRepository;
 import com.blog.repository.LikeRepository;
-import com.blog.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,14 +25,15 @@ import java.util.Optional;
 public class LikeServiceImpl implements LikeService {
 
     private final LikeRepository likeRepository;
-    private final UserRepository userRepository;
+    private final UserCacheService userCacheService;
     private final BlogRepository blogRepository;
-    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LikeWriteBuffer likeWriteBuffer;
 
     @Override
     @Transactional
     public LikeResponse toggleLike(Long blogId, String username) {
-        UserEntity user = userRepository.findByUsername(username)
+        UserEntity user = userCacheService.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         BlogEntity blog = blogRepository.findById(blogId)
@@ -41,6 +44,12 @@ public class LikeServiceImpl implements LikeService {
             throw new BlogUnavailableException("Cannot like a hidden or deleted blog");
         }
 
+        // ✅ Buffered mode: record the intent, persisted by the next batch flush
+        if (likeWriteBuffer.isEnabled()) {
+            boolean liked = likeWriteBuffer.toggle(blogId, user.getId(), blog.getUserId().getId(), user.getUsername());
+            return new LikeResponse(liked, storedLikeCount(blog) + likeWriteBuffer.pendingDelta(blogId));
+        }
+
         Optional<LikeEntity> existingLike = likeRepository.findByBlog_IdAndUser_Id(blogId, user.getId());
 
         boolean liked;
@@ -57,26 +66,24 @@ public class LikeServiceImpl implements LikeService {
             likeRepository.save(like);
             liked = true;
 
-            // Send notification if not self-like
+            // Send notification if not self-like (after commit, async)
             if (!blog.getUserId().getId().equals(user.getId())) {
-                notificationService.createNotification(
-                        blog.getUserId().getId(),
-                        "NEW_LIKE",
-                        user.getUsername() + " liked your blog",
-                        blogId);
+                eventPublisher.publishEvent(new BlogLikedEvent(
+                        blogId, blog.getUserId().getId(), user.getId(), user.getUsername()));
             }
         }
 
-        Long likeCount = likeRepository.countByBlog_Id(blogId);
-        blog.setLike_count(likeCount);
-        blogRepository.save(blog);
+        // ✅ atomic +1/-1 instead of COUNT(*) + save
+        blogRepository.incrementLikeCount(blogId, liked ? 1 : -1);
+        eventPublisher.publishEvent(new BlogCountersChangedEvent(blogId, liked ? 1 : -1, 0));
+        Long likeCount = blogRepository.findLikeCount(blogId);
 
         return new LikeResponse(liked, likeCount);
     }
 
     @Override
     public LikeResponse getLikeStatus(Long blogId, String username) {
-        UserEntity user = userRepository.findByUsername(username)
+        UserEntity user = userCacheService.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         BlogEntity blog = blogRepository.findById(blogId)
@@ -87,10 +94,20 @@ public class LikeServiceImpl implements LikeService {
             throw new BlogUnavailableException("Cannot get like status for a hidden or deleted blog");
         }
 
+        if (likeWriteBuffer.isEnabled()) {
+            Boolean pending = likeWriteBuffer.pendingState(blogId, user.getId());
+            boolean liked = pending != null
+                    ? pending
+                    : likeRepository.existsByBlog_IdAndUser_Id(blogId, user.getId());
+            return new LikeResponse(liked, storedLikeCount(blog) + likeWriteBuffer.pendingDelta(blogId));
+        }
+
         boolean liked = likeRepository.existsByBlog_IdAndUser_Id(blogId, user.getId());
-        Long likeCount = likeRepository.countByBlog_Id(blogId);
+        return new LikeResponse(liked, storedLikeCount(blog));
+    }
 
-        return new LikeResponse(liked, likeCount);
+    private long storedLikeCount(BlogEntity blog) {
+        return blog.getLike_count() == null ? 0L : blog.getLike_count();
     }
 
  
@@ -0,0 +1,373 @@
+package com.blog.service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.blog.dto.CreatedNotification;
+import com.blog.dto.LikeBufferStats;
+import com.blog.dto.NotificationDraft;
+import com.blog.event.BlogCountersChangedEvent;
+import com.blog.event.NotificationsCreatedEvent;
+import com.blog.helper.NotificationText;
+import com.blog.repository.LikeRepository;
+import com.blog.repository.NotificationRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind buffer for like/unlike (enabled with blog.likes.write-behind.enabled).
+ *
+ * - intents are kept per (blogId, userId) in stripes chosen by blogId
+ * - like + unlike before a flush nets out to nothing
+ * - every flush-interval-ms the buffer is written in one transaction with JDBC batches
+ *   (likes insert/delete, blogs.like_count, NEW_LIKE notifications)
+ * - reads combine the stored counter with the not-yet-flushed delta
+ */
+@Component
+public class LikeWriteBuffer {
+
+    private static final int STRIPES = 64;
+
+    // Guarded so a deleted blog or an existing like doesn't fail the whole batch
+    private static final String INSERT_LIKE = "INSERT INTO likes (id, blog_id, user_id, created_at, updated_at) "
+            + "SELECT nextval('likes_seq'), ?, ?, ?, ? WHERE EXISTS (SELECT 1 FROM blogs WHERE id = ?) "
+            + "ON CONFLICT (blog_id, user_id) DO NOTHING";
+    private static final String DELETE_LIKE = "DELETE FROM likes WHERE blog_id = ? AND user_id = ?";
+    private static final String UPDATE_COUNT = "UPDATE blogs SET like_count = COALESCE(like_count, 0) + ? WHERE id = ?";
+
+    private record Key(long blogId, long userId) {}
+
+    private static final class Intent {
+        private boolean persisted;
+        private boolean desired;
+        private final Long blogOwnerId;
+        private final String username;
+        private Instant changedAt;
+
+        private Intent(boolean persisted, Long blogOwnerId, String username) {
+            this.persisted = persisted;
+            this.desired = persisted;
+            this.blogOwnerId = blogOwnerId;
+            this.username = username;
+        }
+    }
+
+    private static final class Stripe {
+        private Map<Key, Intent> pending = new HashMap<>();
+        // Unflushed net like delta per blog (only blogs mapped to this stripe)
+        private final Map<Long, Long> blogDelta = new HashMap<>();
+    }
+
+    private final boolean enabled;
+    private final LikeRepository likeRepository;
+    private final NotificationRepository notificationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    // Desired state of intents taken by the running flush, until it has committed
+    private final Map<Key, Boolean> inFlight = new ConcurrentHashMap<>();
+    // Bumped after each commit so a toggle can tell its DB read may be stale
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // Metrics
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private volatile int lastFlushSize;
+    private volatile long lastFlushMillis;
+    private volatile long maxFlushMillis;
+
+    public LikeWriteBuffer(
+            @Value("${blog.likes.write-behind.enabled:false}") boolean enabled,
+            LikeRepository likeRepository,
+            NotificationRepository notificationRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher) {
+        this.enabled = enabled;
+        this.likeRepository = likeRepository;
+        this.notificationRepository = notificationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records a like/unlike intent and returns the resulting liked state.
+     */
+    public boolean toggle(Long blogId, Long userId, Long blogOwnerId, String username) {
+        Key key = new Key(blogId, userId);
+        Stripe stripe = stripeFor(blogId);
+
+        Boolean baseline = null;
+        long baselineGeneration = -1;
+        while (true) {
+            synchronized (stripe) {
+                Intent intent = stripe.pending.get(key);
+                if (intent == null) {
+                    Boolean persisted = inFlight.get(key);
+                    if (persisted == null && baselineGeneration == generation.get()) {
+                        persisted = baseline;
+                    }
+                    if (persisted != null) {
+                        intent = new Intent(persisted, blogOwnerId, username);
+                        stripe.pending.put(key, intent);
+                        depth.incrementAndGet();
+                    }
+                }
+                if (intent != null) {
+                    intent.desired = !intent.desired;
+                    intent.changedAt = Instant.now();
+                    stripe.blogDelta.merge(blogId, intent.desired ? 1L : -1L, Long::sum);
+                    return intent.desired;
+                }
+            }
+            // Not buffered: read the stored state outside the stripe lock, then retry
+            baselineGeneration = generation.get();
+            baseline = likeRepository.existsByBlog_IdAndUser_Id(blogId, userId);
+        }
+    }
+
+    /**
+     * Buffered view of the like state, or null when nothing is buffered for this pair.
+     */
+    public Boolean pendingState(Long blogId, Long userId) {
+        Key key = new Key(blogId, userId);
+        Stripe stripe = stripeFor(blogId);
+        synchronized (stripe) {
+            Intent intent = stripe.pending.get(key);
+            if (intent != null) {
+                return intent.desired;
+            }
+        }
+        return inFlight.get(key);
+    }
+
+    public long pendingDelta(Long blogId) {
+        Stripe stripe = stripeFor(blogId);
+        synchronized (stripe) {
+            return stripe.blogDelta.getOrDefault(blogId, 0L);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.likes.write-behind.flush-interval-ms:200}")
+    public void flush() {
+        if (!enabled || depth.get() == 0) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            flushOnce();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        if (!enabled) {
+            return;
+        }
+        // A couple of passes pick up intents that arrived during the previous one
+        for (int attempt = 0; attempt < 3 && depth.get() > 0; attempt++) {
+            try {
+                flush();
+            } catch (RuntimeException ignored) {
+                // retried on the next pass
+            }
+        }
+    }
+
+    public LikeBufferStats stats() {
+        return new LikeBufferStats(
+                enabled,
+                depth.get(),
+                flushes.get(),
+                failedFlushes.get(),
+                rowsWritten.get(),
+                lastFlushSize,
+                lastFlushMillis,
+                maxFlushMillis);
+    }
+
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+    private void flushOnce() {
+        Map<Key, Intent> batch = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                if (stripe.pending.isEmpty()) {
+                    continue;
+                }
+                stripe.pending.forEach((key, intent) -> inFlight.put(key, intent.desired));
+                batch.putAll(stripe.pending);
+                stripe.pending = new HashMap<>();
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        depth.addAndGet(-batch.size());
+
+        long started = System.nanoTime();
+        List<Key> insertKeys = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Key> deleteKeys = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        // What the buffer promised readers, per blog (pendingDelta bookkeeping)
+        Map<Long, Long> deltas = new HashMap<>();
+
+        batch.forEach((key, intent) -> {
+            if (intent.desired == intent.persisted) {
+                return; // netted out
+            }
+            if (intent.desired) {
+                Timestamp at = Timestamp.from(intent.changedAt);
+                insertKeys.add(key);
+                inserts.add(new Object[] { key.blogId(), key.userId(), at, at, key.blogId() });
+                deltas.merge(key.blogId(), 1L, Long::sum);
+            } else {
+                deleteKeys.add(key);
+                deletes.add(new Object[] { key.blogId(), key.userId() });
+                deltas.merge(key.blogId(), -1L, Long::sum);
+            }
+        });
+
+        int written;
+        try {
+            written = transactionTemplate.execute(status -> write(batch, insertKeys, inserts, deleteKeys, deletes));
+        } catch (RuntimeException e) {
+            failedFlushes.incrementAndGet();
+            requeue(batch);
+            throw e;
+        }
+
+        // Stored counters now include this batch
+        generation.incrementAndGet();
+        for (Map.Entry<Key, Intent> entry : batch.entrySet()) {
+            Key key = entry.getKey();
+            Stripe stripe = stripeFor(key.blogId());
+            synchronized (stripe) {
+                inFlight.remove(key);
+            }
+        }
+        deltas.forEach((blogId, delta) -> {
+            Stripe stripe = stripeFor(blogId);
+            synchronized (stripe) {
+                Long remaining = stripe.blogDelta.merge(blogId, -delta, Long::sum);
+                if (remaining != null && remaining == 0L) {
+                    stripe.blogDelta.remove(blogId);
+                }
+            }
+        });
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        flushes.incrementAndGet();
+        rowsWritten.addAndGet(written);
+        lastFlushSize = batch.size();
+        lastFlushMillis = elapsedMillis;
+        maxFlushMillis = Math.max(maxFlushMillis, elapsedMillis);
+    }
+
+    // Runs inside the flush transaction; returns the number of like rows changed
+    private int write(Map<Key, Intent> batch, List<Key> insertKeys, List<Object[]> inserts,
+            List<Key> deleteKeys, List<Object[]> deletes) {
+        // Counters and notifications follow the rows that really changed: a guarded
+        // insert or a delete can be a no-op (already liked/unliked, blog deleted).
+        // pgjdbc reports exact per-row counts here (reWriteBatchedInserts is off).
+        Map<Long, Long> applied = new HashMap<>();
+        List<NotificationDraft> notifications = new ArrayList<>();
+        int rows = 0;
+        if (!deletes.isEmpty()) {
+            int[] counts = jdbcTemplate.batchUpdate(DELETE_LIKE, deletes);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    applied.merge(deleteKeys.get(i).blogId(), -1L, Long::sum);
+                    rows++;
+                }
+            }
+        }
+        if (!inserts.isEmpty()) {
+            int[] counts = jdbcTemplate.batchUpdate(INSERT_LIKE, inserts);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    Key key = insertKeys.get(i);
+                    applied.merge(key.blogId(), 1L, Long::sum);
+                    rows++;
+                    Intent intent = batch.get(key);
+                    if (intent.blogOwnerId != null && intent.blogOwnerId != key.userId()) {
+                        notifications.add(new NotificationDraft(intent.blogOwnerId, "NEW_LIKE",
+                                NotificationText.of("NEW_LIKE", intent.username, 1), key.blogId(),
+                                intent.username));
+                    }
+                }
+            }
+        }
+
+        // Blog ids ascending, the order CounterReconciliationJob locks them in
+        List<Object[]> counters = new ArrayList<>();
+        applied.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> counters.add(new Object[] { entry.getValue(), entry.getKey() }));
+        if (!counters.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_COUNT, counters);
+            counters.forEach(row -> eventPublisher.publishEvent(
+                    new BlogCountersChangedEvent((Long) row[1], (Long) row[0], 0)));
+        }
+        if (!notifications.isEmpty()) {
+            List<CreatedNotification> created = notificationRepository.bulkInsert(notifications);
+            eventPublisher.publishEvent(new NotificationsCreatedEvent(created));
+        }
+        return rows;
+    }
+
+    // Failed flush: put intents back, keeping the stored state they started from
+    private void requeue(Map<Key, Intent> batch) {
+        batch.forEach((key, failed) -> {
+            Stripe stripe = stripeFor(key.blogId());
+            synchronized (stripe) {
+                Intent current = stripe.pending.get(key);
+                if (current == null) {
+                    stripe.pending.put(key, failed);
+                    depth.incrementAndGet();
+                } else {
+                    current.persisted = failed.persisted;
+                }
+                inFlight.remove(key);
+            }
+        });
+    }
+
+    private Stripe stripeFor(Long blogId) {
+        return stripes[Math.floorMod(Long.hashCode(blogId), STRIPES)];
+    }
+}
@@ -0,0 +1,316 @@
+package com.blog.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.blog.dto.BlogResponse;
+import com.blog.dto.MediaItem;
+import com.blog.dto.MediaVariant;
+import com.blog.service.storage.MediaStorageBackend;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Downscaled JPEG variants of uploaded images, stored next to the original
+ * (ab/cd/<sha256>_w640.jpg), plus the media metadata exposed in BlogResponse.
+ *
+ * JDK ImageIO can decode JPEG/PNG/GIF and encode JPEG/PNG only, so WebP uploads
+ * get no variants and all variants are JPEG.
+ *
+ * Generation is queued after upload; blobs it missed (queue full, failed run,
+ * restart) are picked up again by {@link #sweep()}.
+ */
+@Service
+public class MediaDerivativeService {
+
+    static final int[] WIDTHS = { 320, 640, 1280 };
+
+    private static final Set<String> DECODABLE = Set.of("image/jpeg", "image/png", "image/gif");
+    // Larger images are not decoded (a 10000x10000 RGB image alone needs ~400MB)
+    private static final long MAX_PIXELS = 40_000_000L;
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private static final String URL_PREFIX = "/api/uploads/";
+
+    // Blobs younger than this are still expected from the upload's own task
+    private static final Duration SWEEP_GRACE = Duration.ofMinutes(5);
+    private static final int SWEEP_BATCH = 100;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String FIND_MISSING = "SELECT path FROM media_blobs "
+            + "WHERE variant_widths IS NULL AND content_type IN ('image/jpeg', 'image/png', 'image/gif') "
+            + "AND ref_count > 0 AND created_at < ? AND COALESCE(variant_attempts, 0) < ? "
+            + "ORDER BY created_at LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskExecutor mediaExecutor;
+    private final MediaStorageBackend backend;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public MediaDerivativeService(
+            JdbcTemplate jdbcTemplate,
+            @Qualifier("mediaExecutor") TaskExecutor mediaExecutor,
+            MediaStorageBackend backend) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mediaExecutor = mediaExecutor;
+        this.backend = backend;
+    }
+
+    /**
+     * Queues variant generation for a stored blob (relative path, e.g. "ab/cd/x.jpg").
+     * Does nothing when the blob already has variants or is not a decodable image.
+     */
+    public void generateAsync(String relative, String contentType) {
+        if (!DECODABLE.contains(contentType)) {
+            return;
+        }
+        try {
+            mediaExecutor.execute(() -> generate(relative));
+        } catch (RejectedExecutionException e) {
+            System.err.println("Variant queue full, left to the sweep: " + relative);
+        }
+    }
+
+    /**
+     * Queues blobs that still have no variants. Each failed run counts as an attempt;
+     * after MAX_ATTEMPTS the blob is served without variants.
+     */
+    @Scheduled(initialDelay = 2 * 60 * 1000, fixedDelay = 10 * 60 * 1000)
+    public void sweep() {
+        List<String> missing = jdbcTemplate.queryForList(FIND_MISSING, String.class,
+                Timestamp.from(Instant.now().minus(SWEEP_GRACE)), MAX_ATTEMPTS, SWEEP_BATCH);
+        for (String relative : missing) {
+            try {
+                mediaExecutor.execute(() -> generate(relative));
+            } catch (RejectedExecutionException e) {
+                return; // queue full: the rest waits for the next run
+            }
+        }
+    }
+
+    public static String variantPath(String relative, int width) {
+        int dot = relative.lastIndexOf('.');
+        String base = dot < 0 ? relative : relative.substring(0, dot);
+        return base + "_w" + width + ".jpg";
+    }
+
+    // ─────────────────────────────────────────────
+    // ✅ BlogResponse media metadata (one lookup per page)
+    // ─────────────────────────────────────────────
+    public BlogResponse withMediaItems(BlogResponse blog) {
+        return withMediaItems(List.of(blog)).get(0);
+    }
+
+    public List<BlogResponse> withMediaItems(List<BlogResponse> blogs) {
+        Map<Long, List<String>> pathsByBlog = new HashMap<>();
+        Set<String> relatives = new LinkedHashSet<>();
+        for (BlogResponse blog : blogs) {
+            List<String> paths = parseMedia(blog.media());
+            pathsByBlog.put(blog.id(), paths);
+            for (String path : paths) {
+                if (path.startsWith(URL_PREFIX)) {
+                    relatives.add(path.substring(URL_PREFIX.length()));
+                }
+            }
+        }
+
+        Map<String, MediaItem> known = relatives.isEmpty() ? Map.of() : lookup(relatives);
+
+        return blogs.stream()
+                .map(blog -> blog.withMediaItems(pathsByBlog.get(blog.id()).stream()
+                        .map(path -> known.getOrDefault(stripPrefix(path),
+                                new MediaItem(path, null, null, null, List.of())))
+                        .toList()))
+                .toList();
+    }
+
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+    private Map<String, MediaItem> lookup(Set<String> relatives) {
+        Map<String, MediaItem> items = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT path, content_type, width, height, variant_widths FROM media_blobs WHERE path = ANY (?)",
+                rs -> {
+                    String relative = rs.getString("path");
+                    items.put(relative, new MediaItem(
+                            URL_PREFIX + relative,
+                            rs.getString("content_type"),
+                            rs.getObject("width", Integer.class),
+                            rs.getObject("height", Integer.class),
+                            variants(relative, rs.getString("variant_widths"))));
+                },
+                (Object) relatives.toArray(new String[0]));
+        return items;
+    }
+
+    private static List<MediaVariant> variants(String relative, String widths) {
+        if (widths == null || widths.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(widths.split(","))
+                .map(Integer::parseInt)
+                .map(width -> new MediaVariant(width, URL_PREFIX + variantPath(relative, width)))
+                .toList();
+    }
+
+    private void generate(String relative) {
+        List<String> done = jdbcTemplate.queryForList(
+                "SELECT path FROM media_blobs WHERE path = ? AND variant_widths IS NOT NULL", String.class, relative);
+        if (!done.isEmpty()) {
+            return;
+        }
+
+        try {
+            BufferedImage image;
+            try (InputStream source = backend.open(relative)) {
+                image = decode(source);
+            }
+            if (image == null) {
+                // Not decodable or too large: final, the sweep skips it
+                jdbcTemplate.update("UPDATE media_blobs SET variant_widths = '' WHERE path = ?", relative);
+                return;
+            }
+
+            List<Integer> generated = new ArrayList<>();
+            for (int width : WIDTHS) {
+                if (width >= image.getWidth()) {
+                    break;
+                }
+                Path tmp = MediaStorageBackend.STAGING_DIR.resolve(UUID.randomUUID() + ".part");
+                try {
+                    writeJpeg(scale(image, width), tmp);
+                    backend.put(variantPath(relative, width), tmp, "image/jpeg");
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+                generated.add(width);
+            }
+
+            jdbcTemplate.update(
+                    "UPDATE media_blobs SET width = ?, height = ?, variant_widths = ? WHERE path = ?",
+                    image.getWidth(), image.getHeight(),
+                    generated.stream().map(String::valueOf).collect(Collectors.joining(",")),
+                    relative);
+        } catch (IOException | RuntimeException e) {
+            // The original stays usable without variants; the sweep retries
+            System.err.println("Failed to generate variants for: " + relative + ": " + e);
+            e.printStackTrace();
+            jdbcTemplate.update("UPDATE media_blobs SET variant_attempts = COALESCE(variant_attempts, 0) + 1 "
+                    + "WHERE path = ?", relative);
+        }
+    }
+
+    // null when the format is not readable or the image is too large to decode
+    private static BufferedImage decode(InputStream source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source)) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                // Dimensions come from the header, before any pixel is decoded
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Halving steps keep bilinear downscaling sharp for large ratios
+    private static BufferedImage scale(BufferedImage source, int targetWidth) {
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.setColor(Color.WHITE); // JPEG has no alpha: transparent PNG/GIF areas become white
+                g.fillRect(0, 0, width, height);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (width > targetWidth);
+        return current;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        Files.createDirectories(target.getParent());
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private List<String> parseMedia(String mediaJson) {
+        if (mediaJson == null || mediaJson.isBlank()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(mediaJson, new TypeReference<List<String>>() {
+            });
+        } catch (Exception ignored) {
+            return List.of(mediaJson);
+        }
+    }
+
+    private static String stripPrefix(String path) {
+        return path.startsWith(URL_PREFIX) ? path.substring(URL_PREFIX.length()) : path;
+    }
+}
@@ -1,23 +1,107 @@
 package com.blog.service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.blog.dto.PresignedUpload;
 import com.blog.exception.JsonWriteException;
+import com.blog.helper.MediaValidator;
+import com.blog.service.storage.MediaStorageBackend;
 
+/**
+ * Content-addressed media store, on top of a {@link MediaStorageBackend} (local
+ * directory or S3-compatible bucket).
+ *
+ * - a file is named by the SHA-256 of its bytes (computed while it is staged) under
+ *   a two-level shard: ab/cd/abcd....ext, so identical uploads share one object
+ * - media_blobs.ref_count counts the blog media entries pointing at each file;
+ *   {@link #store} takes a reference, {@link #delete} releases one
+ * - a file is removed after the releasing transaction commits, once its count is 0
+ * - with an object store, clients can upload directly ({@link #presignUpload}) and
+ *   reference the result with {@link #claim}
+ *
+ * - decodable images get downscaled variants (MediaDerivativeService)
+ *
+ * Paths from before this layout (uploads/UUID_name) have no media_blobs row and are
+ * deleted directly.
+ */
 @Service
 public class MediaStorageService {
 
-    private static final String UPLOAD_DIR = "uploads";
+    private static final String URL_PREFIX = "/api/uploads/";
+    // ab/cd/<sha256>.<ext>
+    private static final Pattern CONTENT_KEY = Pattern.compile("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.[a-z0-9]+");
+    // UUID_originalName from before content addressing: one file name, no directories
+    private static final Pattern LEGACY_KEY = Pattern.compile(
+            "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}_[^/\\\\]*");
+    // Bytes per transferFrom call
+    private static final long TRANSFER_CHUNK = 1024 * 1024;
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/webp", "webp",
+            "image/gif", "gif",
+            "video/mp4", "mp4",
+            "video/webm", "webm");
+
+    private static final String ACQUIRE = "INSERT INTO media_blobs (path, ref_count, size, content_type, created_at) "
+            + "VALUES (?, 1, ?, ?, ?) "
+            + "ON CONFLICT (path) DO UPDATE SET ref_count = media_blobs.ref_count + 1";
+    private static final String RELEASE = "UPDATE media_blobs SET ref_count = ref_count - 1 "
+            + "WHERE path = ? AND ref_count > 0 RETURNING ref_count";
+    // The row lock makes a concurrent ACQUIRE of the same path wait until the file is gone
+    private static final String LOCK_UNREFERENCED = "SELECT path FROM media_blobs "
+            + "WHERE path = ? AND ref_count = 0 FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate purgeTransaction;
+    private final MediaDerivativeService mediaDerivativeService;
+    private final MediaStorageBackend backend;
+    private final long maxDirectUploadBytes;
+
+    public MediaStorageService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            MediaDerivativeService mediaDerivativeService,
+            MediaStorageBackend backend,
+            @Value("${blog.media.stream.max-file-size:200MB}") DataSize maxDirectUploadSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mediaDerivativeService = mediaDerivativeService;
+        this.backend = backend;
+        this.maxDirectUploadBytes = maxDirectUploadSize.toBytes();
+        // Runs from afterCommit, while the finished transaction is still bound
+        this.purgeTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.purgeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     public List<String> store(List<MultipartFile> files) {
         if (files == null || files.isEmpty()) {
@@ -25,46 +109,254 @@ public class MediaStorageService {
         }
 
         List<String> paths = new ArrayList<>();
+        try {
+            for (MultipartFile file : files) {
+                try (InputStream in = file.getInputStream()) {
+                    paths.add(store(in, file.getContentType(), file.getOriginalFilename(),
+                            MediaValidator.MAX_FILE_SIZE));
+                } catch (IOException e) {
+                    throw new JsonWriteException("Failed to store media", e);
+                }
+            }
+        } catch (RuntimeException e) {
+            // All or nothing: release the files stored before the failing one
+            delete(paths);
+            throw e;
+        }
 
-        for (MultipartFile file : files) {
-            String filename = UUID.randomUUID() + "_" + file.getOriginalFilename();
+        return paths;
+    }
+
+    /**
+     * Copies one upload into the store and takes a reference to it. The magic bytes
+     * are checked on the first chunk, before anything is written.
+     *
+     * @return public path ("/api/uploads/ab/cd/<sha256>.<ext>")
+     */
+    public String store(InputStream in, String contentType, String originalFilename, long maxBytes) {
+        MediaValidator.validateType(contentType);
+        String name = originalFilename == null ? "unknown" : originalFilename;
+
+        Path tmp = MediaStorageBackend.STAGING_DIR.resolve(UUID.randomUUID() + ".part");
+        try {
+            byte[] header = in.readNBytes(MediaValidator.HEADER_BYTES);
+            if (!MediaValidator.matchesSignature(header, contentType)) {
+                throw new IllegalArgumentException(
+                        "File content does not match declared type (" + contentType + "): " + name);
+            }
+
+            MessageDigest digest = sha256();
+            digest.update(header);
+            Files.createDirectories(tmp.getParent());
+
+            long size;
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                out.write(ByteBuffer.wrap(header));
+                size = copy(Channels.newChannel(new DigestInputStream(in, digest)), out, header.length, maxBytes,
+                        name);
+            }
 
-            Path destination = Paths.get(UPLOAD_DIR).resolve(filename);
+            String relative = keyOf(HexFormat.of().formatHex(digest.digest()), contentType);
 
+            // Reference first, then publish the file (see LOCK_UNREFERENCED)
+            jdbcTemplate.update(ACQUIRE, relative, size, contentType, Timestamp.from(Instant.now()));
+
+            if (backend.size(relative) < 0) { // otherwise the same bytes are already stored
+                backend.put(relative, tmp, contentType);
+            }
+
+            // The generator updates the media_blobs row, so it must be committed first
+            afterCommit(() -> mediaDerivativeService.generateAsync(relative, contentType));
+            return URL_PREFIX + relative;
+        } catch (IOException e) {
+            throw new JsonWriteException("Failed to store media", e);
+        } finally {
             try {
-                Files.createDirectories(destination.getParent());
-                Files.copy(
-                        file.getInputStream(),
-                        destination,
-                        StandardCopyOption.REPLACE_EXISTING);
-            } catch (IOException e) {
-                throw new JsonWriteException("Failed to store media", e);
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+                // leftover .part file, harmless
             }
+        }
+    }
 
-            paths.add("/api/uploads/" + filename);
+    /**
+     * Pre-signed PUT for a client-side upload of the given bytes. Nothing is
+     * referenced yet: the client passes the returned path to {@link #claim} afterwards.
+     */
+    public PresignedUpload presignUpload(String sha256, String contentType, long size) {
+        MediaValidator.validateType(contentType);
+        if (size > maxDirectUploadBytes) {
+            throw new IllegalArgumentException("File too large");
+        }
+        String relative = keyOf(sha256, contentType);
+        try {
+            if (backend.size(relative) == size) {
+                return new PresignedUpload(URL_PREFIX + relative, null, null, null, null);
+            }
+        } catch (IOException e) {
+            throw new JsonWriteException("Failed to prepare upload", e);
         }
+        return backend.presignUpload(relative, contentType, size, HexFormat.of().parseHex(sha256))
+                .map(signed -> new PresignedUpload(
+                        URL_PREFIX + relative, signed.url(), "PUT", signed.headers(), signed.expiresAt()))
+                .orElseThrow(() -> new IllegalArgumentException("Direct uploads need an object store backend"));
+    }
 
-        return paths;
+    /**
+     * Takes a reference to each already uploaded path (direct uploads), after the
+     * same size and magic-byte checks as {@link #store}. Meant to run inside the
+     * transaction that saves the blog, so a failure rolls every reference back.
+     */
+    public List<String> claim(List<String> mediaPaths) {
+        if (mediaPaths == null || mediaPaths.isEmpty()) {
+            return List.of();
+        }
+        for (String path : mediaPaths) {
+            String relative = keyOf(path);
+            String contentType = contentTypeOf(relative);
+            if (contentType == null || !CONTENT_KEY.matcher(relative).matches()) {
+                throw new IllegalArgumentException("Invalid media path: " + path);
+            }
+            try {
+                long size = backend.size(relative);
+                if (size < 0) {
+                    throw new IllegalArgumentException("Upload not found: " + path);
+                }
+                if (size > maxDirectUploadBytes) {
+                    throw new IllegalArgumentException("File too large: " + path);
+                }
+                if (!MediaValidator.matchesSignature(backend.readHeader(relative, MediaValidator.HEADER_BYTES),
+                        contentType)) {
+                    throw new IllegalArgumentException(
+                            "File content does not match declared type (" + contentType + "): " + path);
+                }
+                jdbcTemplate.update(ACQUIRE, relative, size, contentType, Timestamp.from(Instant.now()));
+            } catch (IOException e) {
+                throw new JsonWriteException("Failed to read uploaded media", e);
+            }
+            afterCommit(() -> mediaDerivativeService.generateAsync(relative, contentType));
+        }
+        return mediaPaths;
     }
 
+    /**
+     * Releases one reference per path. Files whose count reaches 0 are deleted after
+     * the current transaction commits (immediately when there is none).
+     */
     public void delete(List<String> mediaPaths) {
         if (mediaPaths == null || mediaPaths.isEmpty())
             return;
 
-        for (String path : mediaPaths) {
-            try {
-                // "/api/uploads/abc.jpg" → "uploads/abc.jpg"
-                String filename = path.replace("/api/uploads/", "");
+        // Every path is checked before anything is released
+        List<String> relatives = mediaPaths.stream().map(MediaStorageService::keyOf).toList();
 
-                Path filePath = Paths.get(UPLOAD_DIR).resolve(filename);
+        List<String> unreferenced = new ArrayList<>();
+        for (String relative : relatives) {
+            List<Long> remaining = jdbcTemplate.queryForList(RELEASE, Long.class, relative);
+            if (remaining.isEmpty() || remaining.get(0) == 0) {
+                unreferenced.add(relative);
+            }
+        }
+        if (unreferenced.isEmpty()) {
+            return;
+        }
 
-                Files.deleteIfExists(filePath);
+        afterCommit(() -> purge(unreferenced));
+    }
 
-            } catch (IOException e) {
-                // Log only, don't crash update
-                System.err.println("Failed to delete file: " + path);
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void purge(List<String> relativePaths) {
+        for (String relative : relativePaths) {
+            purgeTransaction.executeWithoutResult(status -> {
+                List<String> locked = jdbcTemplate.queryForList(LOCK_UNREFERENCED, String.class, relative);
+                boolean legacy = locked.isEmpty()
+                        && LEGACY_KEY.matcher(relative).matches()
+                        && jdbcTemplate.queryForList("SELECT path FROM media_blobs WHERE path = ?",
+                                String.class, relative).isEmpty();
+                if (locked.isEmpty() && !legacy) {
+                    return; // referenced again meanwhile
+                }
+                List<String> keys = new ArrayList<>();
+                keys.add(relative);
+                for (int width : MediaDerivativeService.WIDTHS) {
+                    keys.add(MediaDerivativeService.variantPath(relative, width));
+                }
+                try {
+                    backend.delete(keys);
+                } catch (IOException e) {
+                    // Log only, don't crash update
+                    System.err.println("Failed to delete file: " + relative);
+                    return;
+                }
+                if (!legacy) {
+                    jdbcTemplate.update("DELETE FROM media_blobs WHERE path = ?", relative);
+                }
+            });
+        }
+    }
+
+    /**
+     * "/api/uploads/ab/cd/x.jpg" → "ab/cd/x.jpg". Only keys this service creates are
+     * accepted (no "..", no absolute or nested legacy names), since they end up in
+     * backend paths.
+     */
+    private static String keyOf(String path) {
+        if (path == null || !path.startsWith(URL_PREFIX)) {
+            throw new IllegalArgumentException("Invalid media path: " + path);
+        }
+        String relative = path.substring(URL_PREFIX.length());
+        if (!CONTENT_KEY.matcher(relative).matches() && !LEGACY_KEY.matcher(relative).matches()) {
+            throw new IllegalArgumentException("Invalid media path: " + path);
+        }
+        return relative;
+    }
+
+    private static String keyOf(String hash, String contentType) {
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + "." + EXTENSIONS.get(contentType);
+    }
+
+    private static String contentTypeOf(String relative) {
+        String extension = relative.substring(relative.lastIndexOf('.') + 1);
+        return EXTENSIONS.entrySet().stream()
+                .filter(entry -> entry.getValue().equals(extension))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(null);
+    }
+
+    // A blocking source returns 0 only at end of stream
+    private static long copy(ReadableByteChannel src, FileChannel out, long position, long maxBytes, String name)
+            throws IOException {
+        long transferred;
+        while ((transferred = out.transferFrom(src, position, TRANSFER_CHUNK)) > 0) {
+            position += transferred;
+            if (position > maxBytes) {
+                throw new IllegalArgumentException("File too large: " + name);
             }
         }
+        return position;
     }
 
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
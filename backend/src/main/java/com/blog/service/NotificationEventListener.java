@@ -0,0 +1,84 @@
+package com.blog.service;
+
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.blog.event.BlogLikedEvent;
+import com.blog.event.BlogPublishedEvent;
+import com.blog.event.CommentCreatedEvent;
+import com.blog.event.UserFollowedEvent;
+import com.blog.repository.FollowRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Notification and feed side effects of write requests.
+ * Handled after the publishing transaction commits, on the bounded
+ * notificationExecutor, so request latency does not depend on audience size.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationEventListener {
+
+    // Followers notified per batch (one transaction each)
+    private static final int FOLLOWER_BATCH_SIZE = 1_000;
+
+    private final NotificationService notificationService;
+    private final TimelineService timelineService;
+    private final FollowRepository followRepository;
+
+    @Async("notificationExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogPublished(BlogPublishedEvent event) {
+        timelineService.fanOut(event.authorId(), event.blogId(), event.createdAt());
+
+        String content = event.authorUsername() + " posted a new blog";
+        Long afterId = 0L;
+        while (true) {
+            List<Long> followerIds = followRepository.findFollowerIdsAfter(
+                    event.authorId(), afterId, PageRequest.of(0, FOLLOWER_BATCH_SIZE));
+            if (followerIds.isEmpty()) {
+                return;
+            }
+            notificationService.createNotifications(followerIds, "NEW_BLOG", content, event.blogId());
+            if (followerIds.size() < FOLLOWER_BATCH_SIZE) {
+                return;
+            }
+            afterId = followerIds.get(followerIds.size() - 1);
+        }
+    }
+
+    @Async("notificationExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogLiked(BlogLikedEvent event) {
+        notificationService.createActivityNotification(
+                event.blogOwnerId(),
+                "NEW_LIKE",
+                event.likerUsername(),
+                event.blogId());
+    }
+
+    @Async("notificationExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentCreated(CommentCreatedEvent event) {
+        notificationService.createActivityNotification(
+                event.blogOwnerId(), // receiver = blog owner
+                "NEW_COMMENT",
+                event.commenterUsername(),
+                event.blogId()); // relatedId = blogId
+    }
+
+    @Async("notificationExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserFollowed(UserFollowedEvent event) {
+        notificationService.createNotification(
+                event.followingId(), // receiver = person being followed
+                "NEW_FOLLOWER",
+                event.followerUsername() + " started following you",
+                event.followerId()); // relatedId = followerId
+    }
+}
@@ -0,0 +1,244 @@
+package com.blog.service;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.blog.config.SchemaMigration;
+
+/**
+ * Monthly range partitions of notifications on created_at (Postgres).
+ *
+ * - a plain notifications table (as created by ddl-auto) is converted once into a
+ *   partitioned one by a schema migration, before any request is served; the
+ *   primary key becomes (id, created_at)
+ * - partitions are created monthsAhead months in advance, plus a DEFAULT partition
+ *   for anything outside them. Rows that land in DEFAULT are moved into their own
+ *   monthly partition by the maintenance job
+ * - retention: a monthly partition older than retention-months is dropped once it
+ *   holds no unread notification; read rows that old are deleted from DEFAULT
+ *
+ * Reads of the full history are bounded by {@link #readHorizon()} so old partitions
+ * are pruned from the plan.
+ */
+@Component
+@Order(2)
+public class NotificationPartitionManager implements SchemaMigration {
+
+    private static final String PARENT = "notifications";
+    private static final String PARTITION_PREFIX = PARENT + "_";
+    private static final String DEFAULT_PARTITION = PARENT + "_default";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("'y'uuuu'm'MM");
+    // pg_advisory_xact_lock key, so only one instance converts the table or moves rows
+    private static final long MIGRATION_LOCK = 7_300_215L;
+    // "updated partition constraint for default partition would be violated"
+    private static final String CHECK_VIOLATION = "23514";
+
+    private static final String LIST_PARTITIONS = "SELECT c.relname FROM pg_inherits i "
+            + "JOIN pg_class c ON c.oid = i.inhrelid "
+            + "JOIN pg_class p ON p.oid = i.inhparent "
+            + "WHERE p.relname = '" + PARENT + "' AND p.relnamespace = 'public'::regnamespace";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int retentionMonths;
+    private final int monthsAhead;
+
+    public NotificationPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${blog.notifications.partitioning.enabled:true}") boolean enabled,
+            @Value("${blog.notifications.retention-months:6}") int retentionMonths,
+            @Value("${blog.notifications.partitioning.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.retentionMonths = retentionMonths;
+        this.monthsAhead = monthsAhead;
+    }
+
+    /**
+     * Oldest created_at still served by history reads (start of a month, UTC).
+     */
+    public Instant readHorizon() {
+        return monthStart(YearMonth.now(ZoneOffset.UTC).minusMonths(retentionMonths));
+    }
+
+    @Override
+    public void migrate() {
+        if (!enabled) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, MIGRATION_LOCK);
+            String kind = jdbcTemplate.queryForObject(
+                    "SELECT relkind::text FROM pg_class WHERE relname = ? AND relnamespace = 'public'::regnamespace",
+                    String.class, PARENT);
+            if ("r".equals(kind)) {
+                convertToPartitioned();
+            }
+        });
+        createUpcomingPartitions();
+    }
+
+    @Scheduled(cron = "${blog.notifications.partitioning.maintenance-cron:0 15 3 * * *}")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        createUpcomingPartitions();
+        drainDefaultPartition();
+        dropExpiredPartitions();
+    }
+
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+    private void convertToPartitioned() {
+        jdbcTemplate.update("UPDATE notifications SET created_at = COALESCE(updated_at, now()) WHERE created_at IS NULL");
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM notifications", Timestamp.class);
+
+        jdbcTemplate.execute("ALTER TABLE notifications RENAME TO notifications_legacy");
+        jdbcTemplate.execute("CREATE TABLE notifications (LIKE notifications_legacy INCLUDING DEFAULTS) "
+                + "PARTITION BY RANGE (created_at)");
+        jdbcTemplate.execute("ALTER TABLE notifications ALTER COLUMN created_at SET NOT NULL");
+        jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF notifications DEFAULT");
+
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        YearMonth from = oldest == null ? current : YearMonth.from(oldest.toInstant().atZone(ZoneOffset.UTC));
+        for (YearMonth month = from; !month.isAfter(current.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            jdbcTemplate.execute(createPartitionSql(month));
+        }
+
+        jdbcTemplate.execute("INSERT INTO notifications SELECT * FROM notifications_legacy");
+        jdbcTemplate.execute("DROP TABLE notifications_legacy");
+
+        // Created after the legacy table is gone, so its constraint/index names are free
+        jdbcTemplate.execute("ALTER TABLE notifications ADD CONSTRAINT notifications_pkey PRIMARY KEY (id, created_at)");
+        jdbcTemplate.execute("ALTER TABLE notifications ADD CONSTRAINT fk_notifications_user "
+                + "FOREIGN KEY (user_id) REFERENCES users (id)");
+        jdbcTemplate.execute("CREATE INDEX idx_notifications_user_read_created "
+                + "ON notifications (user_id, is_read, created_at)");
+    }
+
+    private void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                jdbcTemplate.execute(createPartitionSql(month));
+            } catch (DataAccessException e) {
+                if (!isDefaultPartitionConflict(e)) {
+                    throw e;
+                }
+                System.err.println("DEFAULT partition holds notifications of " + month + "; moving them out");
+                moveOutOfDefault(month);
+            }
+        }
+    }
+
+    // Months whose rows sit in DEFAULT (partition missing when they were written)
+    private void drainDefaultPartition() {
+        Instant horizon = readHorizon();
+        YearMonth last = YearMonth.now(ZoneOffset.UTC).plusMonths(monthsAhead);
+        List<Timestamp> months = jdbcTemplate.queryForList(
+                "SELECT DISTINCT date_trunc('month', created_at AT TIME ZONE 'UTC') AT TIME ZONE 'UTC' "
+                        + "FROM " + DEFAULT_PARTITION + " WHERE created_at >= ? AND created_at < ?",
+                Timestamp.class, Timestamp.from(horizon), Timestamp.from(monthStart(last.plusMonths(1))));
+        for (Timestamp start : months) {
+            moveOutOfDefault(YearMonth.from(start.toInstant().atZone(ZoneOffset.UTC)));
+        }
+
+        // Same rule as for dropped partitions: read rows past retention go, unread ones stay
+        int deleted = jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION
+                + " WHERE created_at < ? AND is_read = true", Timestamp.from(horizon));
+        if (deleted > 0) {
+            System.err.println("Deleted " + deleted + " expired notifications from " + DEFAULT_PARTITION);
+        }
+    }
+
+    // The month's rows go into a detached table, which is then attached as its partition
+    // (attaching checks that DEFAULT no longer holds rows of that range)
+    private void moveOutOfDefault(YearMonth month) {
+        String partition = PARTITION_PREFIX + month.format(SUFFIX);
+        Timestamp from = Timestamp.from(monthStart(month));
+        Timestamp to = Timestamp.from(monthStart(month.plusMonths(1)));
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, MIGRATION_LOCK);
+            if (partitionExists(partition)) {
+                return;
+            }
+            jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + PARENT + " INCLUDING DEFAULTS)");
+            int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                    + " WHERE created_at >= ? AND created_at < ? RETURNING *) "
+                    + "INSERT INTO " + partition + " SELECT * FROM moved", from, to);
+            jdbcTemplate.execute("ALTER TABLE " + PARENT + " ATTACH PARTITION " + partition
+                    + " FOR VALUES FROM ('" + from.toInstant() + "') TO ('" + to.toInstant() + "')");
+            System.err.println("Moved " + moved + " notifications from " + DEFAULT_PARTITION + " to " + partition);
+        });
+    }
+
+    private boolean partitionExists(String partition) {
+        return !jdbcTemplate.queryForList(LIST_PARTITIONS + " AND c.relname = ?", String.class, partition).isEmpty();
+    }
+
+    private static boolean isDefaultPartitionConflict(DataAccessException e) {
+        return e.getMostSpecificCause() instanceof SQLException sql && CHECK_VIOLATION.equals(sql.getSQLState());
+    }
+
+    private void dropExpiredPartitions() {
+        Instant horizon = readHorizon();
+        List<String> partitions = jdbcTemplate.queryForList(LIST_PARTITIONS, String.class);
+        for (String partition : partitions) {
+            YearMonth month = monthOf(partition);
+            if (month == null || monthStart(month.plusMonths(1)).isAfter(horizon)) {
+                continue;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                Boolean hasUnread = jdbcTemplate.queryForObject(
+                        "SELECT EXISTS (SELECT 1 FROM " + partition + " WHERE is_read = false)", Boolean.class);
+                if (!Boolean.TRUE.equals(hasUnread)) {
+                    jdbcTemplate.execute("DROP TABLE " + partition);
+                }
+            });
+        }
+    }
+
+    private static String createPartitionSql(YearMonth month) {
+        return "CREATE TABLE IF NOT EXISTS " + PARTITION_PREFIX + month.format(SUFFIX)
+                + " PARTITION OF notifications FOR VALUES FROM ('" + monthStart(month)
+                + "') TO ('" + monthStart(month.plusMonths(1)) + "')";
+    }
+
+    // null for names not created by this class (e.g. notifications_default)
+    private static YearMonth monthOf(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static Instant monthStart(YearMonth month) {
+        LocalDate first = month.atDay(1);
+        return first.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
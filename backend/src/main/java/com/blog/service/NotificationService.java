@@ -3,7 +3,9 @@ package com.blog.service;
 
 
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.blog.dto.NotificationPageResponse;
 import com.blog.dto.NotificationResponse;
 
 import java.util.List;
@@ -12,10 +14,28 @@ import java.util.List;
 public interface NotificationService {
     List<NotificationResponse> getUserNotifications(String username);
     List<NotificationResponse> getUnreadNotifications(String username);
+
+    // ✅ Keyset pages: after is the opaque nextCursor of the previous page ("" = first page)
+    NotificationPageResponse getUserNotificationsAfter(String username, String after, int size);
+    NotificationPageResponse getUnreadNotificationsAfter(String username, String after, int size);
+
+    // ✅ Incremental: notifications written after the since position, in write order.
+    // nextCursor is always the position to poll from next ("" = start from now).
+    NotificationPageResponse getNotificationsSince(String username, String since, int size);
+
     void markAsRead(Long notificationId, String username);
-    void markAllAsRead(String username);
+    int markAllAsRead(String username);
     void deleteNotification(Long notificationId, String username);
     Long getUnreadCount(String username);
     void createNotification(Long receiverUserId, String type, String content, Long relatedId);
 
+    // Like / comment style activity: grouped with recent unread ones ("alice and 3 others ...")
+    void createActivityNotification(Long receiverUserId, String type, String actor, Long relatedId);
+
+    // Server-sent events: new notifications and unread-count changes
+    SseEmitter openStream(String username);
+
+    // Same notification for many receivers, inserted by id in JDBC batches
+    void createNotifications(List<Long> receiverUserIds, String type, String content, Long relatedId);
+
 }
\ No newline at end of file
@@ -1,20 +1,35 @@
 package com.blog.service;
 
-import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.blog.dto.CreatedNotification;
+import com.blog.dto.NotificationChange;
+import com.blog.dto.NotificationDraft;
+import com.blog.dto.NotificationPageResponse;
 import com.blog.dto.NotificationResponse;
 import com.blog.entity.NotificationEntity;
 import com.blog.entity.UserEntity;
+import com.blog.event.NotificationsCreatedEvent;
 import com.blog.exception.AccessDeniedException;
 import com.blog.exception.ResourceNotFoundException;
+import com.blog.helper.ChangeCursor;
+import com.blog.helper.KeysetCursor;
+import com.blog.helper.NotificationText;
 import com.blog.mapper.NotificationMapper;
+import com.blog.repository.NotificationCounterRepository;
 import com.blog.repository.NotificationRepository;
-import com.blog.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,16 +37,25 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
 
+    // Unpaged endpoints return at most the newest LEGACY_LIMIT rows
+    private static final int LEGACY_LIMIT = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
-    private final UserRepository userRepository;
+    private final NotificationCounterRepository notificationCounterRepository;
+    private final UserCacheService userCacheService;
+    private final NotificationStreamRegistry notificationStreamRegistry;
+    private final NotificationPartitionManager partitions;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<NotificationResponse> getUserNotifications(String username) {
-        UserEntity user = userRepository.findByUsername(username)
+        UserEntity user = userCacheService.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        List<NotificationEntity> notifications = notificationRepository
-                .findByUser_IdOrderByCreatedAtDesc(user.getId());
+        // Bounded: older entries are reached through getUserNotificationsAfter
+        Slice<NotificationEntity> notifications = notificationRepository
+                .findByUserWithin(user.getId(), partitions.readHorizon(), PageRequest.of(0, LEGACY_LIMIT));
 
         return notifications.stream()
                 .map(NotificationMapper::toResponse)
@@ -40,21 +64,75 @@ public class NotificationServiceImpl implements NotificationService {
 
     @Override
     public List<NotificationResponse> getUnreadNotifications(String username) {
-        UserEntity user = userRepository.findByUsername(username)
+        UserEntity user = userCacheService.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        List<NotificationEntity> notifications = notificationRepository
-                .findByUser_IdAndIsReadOrderByCreatedAtDesc(user.getId(), false);
+        Slice<NotificationEntity> notifications = notificationRepository
+                .findByUser_IdAndIsReadOrderByCreatedAtDescIdDesc(user.getId(), false, PageRequest.of(0, LEGACY_LIMIT));
 
         return notifications.stream()
                 .map(NotificationMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public NotificationPageResponse getUserNotificationsAfter(String username, String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        UserEntity user = userCacheService.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        Pageable pageable = PageRequest.of(0, clampSize(size));
+
+        Slice<NotificationEntity> notifications = cursor == null
+                ? notificationRepository.findByUserWithin(user.getId(), partitions.readHorizon(), pageable)
+                : notificationRepository.findByUserBefore(user.getId(), partitions.readHorizon(),
+                        cursor.createdAt(), cursor.id(), pageable);
+
+        return toKeysetPage(notifications);
+    }
+
+    @Override
+    public NotificationPageResponse getUnreadNotificationsAfter(String username, String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        UserEntity user = userCacheService.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        Pageable pageable = PageRequest.of(0, clampSize(size));
+
+        Slice<NotificationEntity> notifications = cursor == null
+                ? notificationRepository.findByUser_IdAndIsReadOrderByCreatedAtDescIdDesc(user.getId(), false, pageable)
+                : notificationRepository.findUnreadByUserBefore(user.getId(), cursor.createdAt(), cursor.id(),
+                        pageable);
+
+        return toKeysetPage(notifications);
+    }
+
+    @Override
+    public NotificationPageResponse getNotificationsSince(String username, String since, int size) {
+        ChangeCursor cursor = ChangeCursor.decode(since);
+        UserEntity user = userCacheService.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        // No position yet: nothing to return, only where to resume from
+        if (cursor == null) {
+            return new NotificationPageResponse(List.of(), notificationRepository.currentChangePosition().encode());
+        }
+
+        List<NotificationChange> changes = notificationRepository
+                .findChangesAfter(user.getId(), cursor, partitions.readHorizon(), clampSize(size));
+
+        ChangeCursor next = cursor;
+        if (!changes.isEmpty()) {
+            NotificationChange last = changes.get(changes.size() - 1);
+            next = ChangeCursor.of(last.txid(), last.notification().id());
+        }
+        return new NotificationPageResponse(
+                changes.stream().map(NotificationChange::notification).toList(),
+                next.encode());
+    }
+
     @Override
     @Transactional
     public void markAsRead(Long notificationId, String username) {
-        UserEntity user = userRepository.findByUsername(username)
+        UserEntity user = userCacheService.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         NotificationEntity notification = notificationRepository.findById(notificationId)
@@ -64,32 +142,29 @@ public class NotificationServiceImpl implements NotificationService {
             throw new AccessDeniedException("Unauthorized to update this notification");
         }
 
-        notification.setIsRead(true);
-        notification.setUpdatedAt(Instant.now());
-        notificationRepository.save(notification);
+        if (notificationRepository.markAsRead(notificationId) > 0) {
+            notificationCounterRepository.decrement(user.getId(), 1);
+        }
     }
 
     @Override
     @Transactional
-    public void markAllAsRead(String username) {
-        UserEntity user = userRepository.findByUsername(username)
+    public int markAllAsRead(String username) {
+        UserEntity user = userCacheService.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        List<NotificationEntity> unreadNotifications = notificationRepository
-                .findByUser_IdAndIsReadOrderByCreatedAtDesc(user.getId(), false);
-
-        unreadNotifications.forEach(notification -> {
-            notification.setIsRead(true);
-            notification.setUpdatedAt(Instant.now());
-        });
-
-        notificationRepository.saveAll(unreadNotifications);
+        int updated = notificationRepository.markAllAsRead(user.getId());
+        if (updated > 0) {
+            // Not reset to 0: notifications committed meanwhile are still unread
+            notificationCounterRepository.decrement(user.getId(), updated);
+        }
+        return updated;
     }
 
     @Override
     @Transactional
     public void deleteNotification(Long notificationId, String username) {
-        UserEntity user = userRepository.findByUsername(username)
+        UserEntity user = userCacheService.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         NotificationEntity notification = notificationRepository.findById(notificationId)
@@ -100,33 +175,93 @@ public class NotificationServiceImpl implements NotificationService {
         }
 
         notificationRepository.delete(notification);
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            notificationCounterRepository.decrement(user.getId(), 1);
+        }
     }
 
     @Override
     public Long getUnreadCount(String username) {
-        UserEntity user = userRepository.findByUsername(username)
+        UserEntity user = userCacheService.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        return notificationRepository.countByUser_IdAndIsRead(user.getId(), false);
+        return unreadCount(user.getId());
     }
+
     @Override
-@Transactional
-public void createNotification(Long receiverUserId, String type, String content, Long relatedId) {
-    UserEntity receiver = userRepository.findById(receiverUserId)
-            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-    NotificationEntity n = NotificationEntity.builder()
-            .user(receiver)
-            .type(type)              // e.g. "NEW_BLOG", "NEW_COMMENT", "NEW_FOLLOW"
-            .content(content)        // message shown in UI
-            .relatedId(relatedId)    // blogId or followerId or commentId (your choice)
-            .status(true)            // optional
-            .isRead(false)
-            .createdAt(Instant.now())
-            .updatedAt(Instant.now())
-            .build();
-
-    notificationRepository.save(n);
-}
+    public SseEmitter openStream(String username) {
+        UserEntity user = userCacheService.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        // Ticket streams skip the JWT filter's ban check
+        if (Boolean.TRUE.equals(user.getBanned())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Your account is banned");
+        }
+
+        return notificationStreamRegistry.subscribe(user.getId(), unreadCount(user.getId()));
+    }
+
+    @Override
+    @Transactional
+    public void createNotification(Long receiverUserId, String type, String content, Long relatedId) {
+        // e.g. "NEW_BLOG", "NEW_COMMENT", "NEW_FOLLOW"; relatedId = blogId or followerId
+        createNotifications(List.of(receiverUserId), type, content, relatedId);
+    }
+
+    @Override
+    @Transactional
+    public void createActivityNotification(Long receiverUserId, String type, String actor, Long relatedId) {
+        NotificationDraft draft = new NotificationDraft(
+                receiverUserId, type, NotificationText.of(type, actor, 1), relatedId, actor);
+        publishCreated(notificationRepository.bulkInsert(List.of(draft)));
+    }
+
+    @Override
+    @Transactional
+    public void createNotifications(List<Long> receiverUserIds, String type, String content, Long relatedId) {
+        if (receiverUserIds.isEmpty()) {
+            return;
+        }
+        List<NotificationDraft> drafts = new ArrayList<>(receiverUserIds.size());
+        for (Long receiverId : receiverUserIds) {
+            drafts.add(new NotificationDraft(receiverId, type, content, relatedId, null));
+        }
+        publishCreated(notificationRepository.bulkInsert(drafts));
+    }
+
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+    private NotificationPageResponse toKeysetPage(Slice<NotificationEntity> slice) {
+        List<NotificationEntity> content = slice.getContent();
+
+        String nextCursor = null;
+        if (slice.hasNext() && !content.isEmpty()) {
+            NotificationEntity last = content.get(content.size() - 1);
+            nextCursor = KeysetCursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new NotificationPageResponse(
+                content.stream().map(NotificationMapper::toResponse).toList(),
+                nextCursor);
+    }
 
-}
\ No newline at end of file
+    private void publishCreated(List<CreatedNotification> created) {
+        if (!created.isEmpty()) {
+            // pushed to open streams after commit
+            eventPublisher.publishEvent(new NotificationsCreatedEvent(created));
+        }
+    }
+
+    private long unreadCount(Long userId) {
+        Long unread = notificationCounterRepository.findUnread(userId);
+        if (unread == null) {
+            notificationCounterRepository.seed(userId);
+            unread = notificationCounterRepository.findUnread(userId);
+        }
+        return unread == null ? 0 : unread;
+    }
+
+    private static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
@@ -0,0 +1,213 @@
+package com.blog.service;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.blog.dto.CreatedNotification;
+import com.blog.event.NotificationsCreatedEvent;
+
+/**
+ * Open /notifications/stream connections, per user.
+ *
+ * - events are queued per subscriber and written by streamExecutor, never by the
+ *   thread that created the notification
+ * - a subscriber whose queue overflows is disconnected (the client reconnects and
+ *   gets a fresh unread count)
+ * - caps on total and per-user streams; a new stream beyond the per-user cap
+ *   replaces that user's oldest one
+ */
+@Component
+public class NotificationStreamRegistry {
+
+    private static final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter, int queueCapacity) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong overflowDisconnects = new AtomicLong();
+
+    private final TaskExecutor streamExecutor;
+    private final int maxStreams;
+    private final int maxStreamsPerUser;
+    private final int queueCapacity;
+    private final long timeoutMs;
+
+    public NotificationStreamRegistry(
+            @Qualifier("streamExecutor") TaskExecutor streamExecutor,
+            @Value("${blog.notifications.stream.max-streams:10000}") int maxStreams,
+            @Value("${blog.notifications.stream.max-streams-per-user:3}") int maxStreamsPerUser,
+            @Value("${blog.notifications.stream.queue-capacity:100}") int queueCapacity,
+            @Value("${blog.notifications.stream.timeout-ms:1800000}") long timeoutMs) {
+        this.streamExecutor = streamExecutor;
+        this.maxStreams = maxStreams;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public SseEmitter subscribe(Long userId, long unreadCount) {
+        if (active.incrementAndGet() > maxStreams) {
+            active.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many notification streams");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(userId, emitter, queueCapacity);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+
+        List<Subscriber> own = subscribers.compute(userId, (id, current) -> {
+            List<Subscriber> list = current == null ? new CopyOnWriteArrayList<>() : current;
+            list.add(subscriber);
+            return list;
+        });
+        while (own.size() > maxStreamsPerUser) {
+            close(own.get(0));
+        }
+
+        // Initial state, so the client never needs to poll
+        enqueue(subscriber, SseEmitter.event().name("unread-count").data(unreadCount));
+        return emitter;
+    }
+
+    // Runs on the creating thread after commit; only enqueues
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsCreated(NotificationsCreatedEvent event) {
+        Map<Long, Integer> deltas = new HashMap<>();
+        for (CreatedNotification created : event.notifications()) {
+            List<Subscriber> own = subscribers.get(created.userId());
+            if (own == null) {
+                continue;
+            }
+            for (Subscriber subscriber : own) {
+                enqueue(subscriber, SseEmitter.event()
+                        .name("notification")
+                        .id(String.valueOf(created.notification().id()))
+                        .data(created.notification()));
+            }
+            if (!created.coalesced()) {
+                deltas.merge(created.userId(), 1, Integer::sum);
+            }
+        }
+        // Grouped into an already unread row: no change to the count
+        deltas.forEach((userId, delta) -> {
+            List<Subscriber> own = subscribers.get(userId);
+            if (own != null) {
+                own.forEach(subscriber -> enqueue(subscriber, SseEmitter.event().name("unread-delta").data(delta)));
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${blog.notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(own -> own.forEach(
+                subscriber -> enqueue(subscriber, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    public Map<String, Long> stats() {
+        return Map.of(
+                "activeStreams", (long) active.get(),
+                "overflowDisconnects", overflowDisconnects.get());
+    }
+
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+    private void enqueue(Subscriber subscriber, SseEventBuilder event) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.queue.offer(event)) {
+            // Slow consumer: drop the connection instead of buffering without bound
+            overflowDisconnects.incrementAndGet();
+            close(subscriber);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            streamExecutor.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.draining.set(false);
+            close(subscriber);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEventBuilder event;
+            while (!subscriber.closed.get() && (event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            close(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Events offered while we were finishing
+        if (!subscriber.queue.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        remove(subscriber);
+        subscriber.queue.clear();
+        try {
+            subscriber.emitter.complete();
+        } catch (IllegalStateException ignored) {
+            // already completed
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, own) -> {
+            if (own.remove(subscriber)) {
+                active.decrementAndGet();
+            }
+            return own.isEmpty() ? null : own;
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package com.blog.service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * One-time tickets for GET /notifications/stream. Browsers' EventSource can't send
+ * the Authorization header, so the client trades its bearer token for a ticket
+ * (POST /notifications/stream/ticket) and passes it as ?ticket=.
+ *
+ * - random 256-bit value, valid for ttl-seconds, redeemable once
+ * - kept in memory only: the ticket must be redeemed on the instance that issued
+ *   it (same as the stream itself)
+ */
+@Component
+public class NotificationStreamTickets {
+
+    private static final int TICKET_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Cache<String, String> usernames;
+
+    public NotificationStreamTickets(
+            @Value("${blog.notifications.stream.ticket-ttl-seconds:30}") long ttlSeconds) {
+        this.usernames = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public String issue(String username) {
+        byte[] bytes = new byte[TICKET_BYTES];
+        random.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        usernames.put(ticket, username);
+        return ticket;
+    }
+
+    /**
+     * @return the ticket's username, or null if it is unknown, expired or already used
+     */
+    public String redeem(String ticket) {
+        return usernames.asMap().remove(ticket);
+    }
+}
@@ -30,6 +30,7 @@ public class ReportServiceImpl implements ReportService {
 
         private final ReportRepository reportRepository;
         private final UserRepository userRepository;
+        private final UserCacheService userCacheService;
         private final BlogRepository blogRepository; // ✅ add
 
         // @Autowired
@@ -64,7 +65,7 @@ public class ReportServiceImpl implements ReportService {
         @Override
         @Transactional
         public ReportResponse createReport(ReportRequest request, String username) {
-                UserEntity reporter = userRepository.findByUsername(username)
+                UserEntity reporter = userCacheService.findByUsername(username)
                                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
                 // ✅ block reporting deleted targets
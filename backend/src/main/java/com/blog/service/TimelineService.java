@@ -0,0 +1,25 @@
+package com.blog.service;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import com.blog.dto.BlogRow;
+import com.blog.helper.KeysetCursor;
+
+@Service
+public interface TimelineService {
+
+    void fanOut(Long authorId, Long blogId, Instant createdAt);
+
+    void onFollow(Long followerId, Long authorId);
+
+    void onUnfollow(Long followerId, Long authorId);
+
+    List<BlogRow> getTimeline(Long followerId, int page, int size);
+
+    // after == null → first page
+    Slice<BlogRow> getTimelineAfter(Long followerId, KeysetCursor after, int size);
+}
@@ -0,0 +1,188 @@
+package com.blog.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.blog.dto.BlogRow;
+import com.blog.helper.KeysetCursor;
+import com.blog.repository.BlogRepository;
+import com.blog.repository.FollowRepository;
+import com.blog.repository.TimelineRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Hybrid home feed:
+ * - regular authors are fanned out on write into timeline_entries
+ * - authors with huge audiences are skipped on write and merged in on read
+ */
+@Service
+@RequiredArgsConstructor
+public class TimelineServiceImpl implements TimelineService {
+
+    // Max entries kept per follower (older ones are trimmed by trimTimelines)
+    private static final int MAX_TIMELINE_LENGTH = 800;
+
+    // Authors with at least this many followers are read on demand instead
+    private static final long FANOUT_FOLLOWER_LIMIT = 10_000;
+
+    // How many of a newly followed author's blogs are pulled into the timeline
+    private static final int FOLLOW_BACKFILL_SIZE = 20;
+
+    private static final Comparator<BlogRow> NEWEST_FIRST = Comparator
+            .comparing(BlogRow::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(BlogRow::id, Comparator.reverseOrder());
+
+    private final TimelineRepository timelineRepository;
+    private final FollowRepository followRepository;
+    private final BlogRepository blogRepository;
+
+    private volatile Set<Long> highFanoutAuthors = Set.of();
+
+    // Authors fanned out since the last trim; only their followers can have grown
+    private final Set<Long> touchedAuthors = ConcurrentHashMap.newKeySet();
+
+    @Override
+    @Transactional
+    public void fanOut(Long authorId, Long blogId, Instant createdAt) {
+        if (highFanoutAuthors.contains(authorId)) {
+            return;
+        }
+        timelineRepository.fanOut(authorId, blogId, createdAt);
+        touchedAuthors.add(authorId);
+    }
+
+    @Override
+    @Transactional
+    public void onFollow(Long followerId, Long authorId) {
+        if (highFanoutAuthors.contains(authorId)) {
+            return;
+        }
+        timelineRepository.backfillFromAuthor(followerId, authorId, FOLLOW_BACKFILL_SIZE);
+        timelineRepository.trimFollower(followerId, MAX_TIMELINE_LENGTH);
+    }
+
+    @Override
+    @Transactional
+    public void onUnfollow(Long followerId, Long authorId) {
+        timelineRepository.deleteByFollowerIdAndAuthorId(followerId, authorId);
+    }
+
+    @Override
+    @Transactional
+    public List<BlogRow> getTimeline(Long followerId, int page, int size) {
+        if (page == 0) {
+            ensureMaterialized(followerId);
+        }
+
+        List<Long> followedHighFanout = followedHighFanoutAuthors(followerId);
+
+        if (followedHighFanout.isEmpty()) {
+            return timelineRepository.findTimeline(followerId, PageRequest.of(page, size));
+        }
+
+        // Fan-out on read: both sources are newest-first, so the first
+        // (page + 1) * size rows of each are enough to build the requested page.
+        int window = (page + 1) * size;
+        List<BlogRow> materialized = timelineRepository.findTimeline(followerId, PageRequest.of(0, window));
+        List<BlogRow> onRead = blogRepository.findRecentVisibleRowsByUserIds(followedHighFanout,
+                PageRequest.of(0, window));
+
+        return mergePage(materialized, onRead, page, size);
+    }
+
+    @Override
+    @Transactional
+    public Slice<BlogRow> getTimelineAfter(Long followerId, KeysetCursor after, int size) {
+        if (after == null) {
+            ensureMaterialized(followerId);
+        }
+
+        // one extra row tells us whether a next page exists
+        Pageable window = PageRequest.of(0, size + 1);
+
+        List<BlogRow> materialized = after == null
+                ? timelineRepository.findTimeline(followerId, window)
+                : timelineRepository.findTimelineBefore(followerId, after.createdAt(), after.id(), window);
+
+        List<Long> followedHighFanout = followedHighFanoutAuthors(followerId);
+        List<BlogRow> rows = materialized;
+        if (!followedHighFanout.isEmpty()) {
+            List<BlogRow> onRead = after == null
+                    ? blogRepository.findRecentVisibleRowsByUserIds(followedHighFanout, window)
+                    : blogRepository.findRecentVisibleRowsByUserIdsBefore(
+                            followedHighFanout, after.createdAt(), after.id(), window);
+            rows = mergePage(materialized, onRead, 0, size + 1);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<BlogRow> content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+
+    // ─────────────────────────────────────────────
+    // Maintenance
+    // ─────────────────────────────────────────────
+    @Scheduled(fixedDelay = 5 * 60 * 1000)
+    public void refreshHighFanoutAuthors() {
+        highFanoutAuthors = Set.copyOf(followRepository.findAuthorIdsWithFollowersAtLeast(FANOUT_FOLLOWER_LIMIT));
+    }
+
+    // Trims the followers of authors that posted since the last run (one short
+    // transaction per author), never the whole table
+    @Scheduled(initialDelay = 10 * 60 * 1000, fixedDelay = 10 * 60 * 1000)
+    public void trimTimelines() {
+        for (Long authorId : List.copyOf(touchedAuthors)) {
+            touchedAuthors.remove(authorId);
+            try {
+                timelineRepository.trimFollowersOf(authorId, MAX_TIMELINE_LENGTH);
+            } catch (RuntimeException e) {
+                touchedAuthors.add(authorId); // retried on the next run
+                throw e;
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+    private void ensureMaterialized(Long followerId) {
+        if (!timelineRepository.existsByFollowerId(followerId)) {
+            timelineRepository.rebuild(followerId, MAX_TIMELINE_LENGTH);
+        }
+    }
+
+    private List<Long> followedHighFanoutAuthors(Long followerId) {
+        Set<Long> authors = highFanoutAuthors;
+        return authors.isEmpty()
+                ? List.of()
+                : followRepository.findFollowingIdsAmong(followerId, authors);
+    }
+
+    private List<BlogRow> mergePage(List<BlogRow> a, List<BlogRow> b, int page, int size) {
+        Map<Long, BlogRow> byId = new LinkedHashMap<>();
+        a.forEach(blog -> byId.putIfAbsent(blog.id(), blog));
+        b.forEach(blog -> byId.putIfAbsent(blog.id(), blog));
+
+        List<BlogRow> merged = new ArrayList<>(byId.values());
+        merged.sort(NEWEST_FIRST);
+
+        int from = Math.min(page * size, merged.size());
+        int to = Math.min(from + size, merged.size());
+        return merged.subList(from, to);
+    }
+}
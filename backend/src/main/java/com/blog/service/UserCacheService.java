@@ -0,0 +1,27 @@
+package com.blog.service;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+
+import com.blog.dto.CacheStatsResponse;
+import com.blog.entity.UserEntity;
+
+/**
+ * Read-through cache in front of UserRepository for hot lookups.
+ * Returned entities are detached copies without the password hash:
+ * use them for reads and as association targets, never save them back.
+ */
+@Service
+public interface UserCacheService {
+
+    Optional<UserEntity> findByUsername(String username);
+
+    Optional<UserEntity> findById(Long id);
+
+    // Runs after commit when called inside a transaction
+    void evict(Long userId);
+
+    Map<String, CacheStatsResponse> stats();
+}
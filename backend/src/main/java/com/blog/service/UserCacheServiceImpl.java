@@ -0,0 +1,124 @@
+package com.blog.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.blog.dto.CacheStatsResponse;
+import com.blog.entity.UserEntity;
+import com.blog.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+@Service
+public class UserCacheServiceImpl implements UserCacheService {
+
+    // Immutable snapshot: callers get a fresh entity copy, so nothing shared is ever mutated
+    private record CachedUser(Long id, String username, String email, String role, Boolean banned, Instant createdAt) {
+
+        static CachedUser of(UserEntity user) {
+            return new CachedUser(user.getId(), user.getUsername(), user.getEmail(),
+                    user.getRole(), user.getBanned(), user.getCreatedAt());
+        }
+
+        UserEntity toEntity() {
+            return UserEntity.builder()
+                    .id(id)
+                    .username(username)
+                    .email(email)
+                    .role(role)
+                    .banned(banned)
+                    .createdAt(createdAt)
+                    .build();
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final Cache<Long, CachedUser> byId;
+    private final Cache<String, CachedUser> byUsername;
+
+    public UserCacheServiceImpl(
+            UserRepository userRepository,
+            @Value("${blog.cache.users.max-size:10000}") long maxSize,
+            @Value("${blog.cache.users.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        // Caffeine's default eviction policy is W-TinyLFU
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.byUsername = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Optional<UserEntity> findByUsername(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        // Misses (null) are not cached, so a newly registered user is found right away
+        CachedUser cached = byUsername.get(username, key -> userRepository.findByUsername(key)
+                .map(CachedUser::of)
+                .orElse(null));
+        return Optional.ofNullable(cached).map(CachedUser::toEntity);
+    }
+
+    @Override
+    public Optional<UserEntity> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        CachedUser cached = byId.get(id, key -> userRepository.findById(key)
+                .map(CachedUser::of)
+                .orElse(null));
+        return Optional.ofNullable(cached).map(CachedUser::toEntity);
+    }
+
+    @Override
+    public void evict(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Evicting before commit would let a concurrent read re-cache the old row
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                }
+            });
+            return;
+        }
+        evictNow(userId);
+    }
+
+    @Override
+    public Map<String, CacheStatsResponse> stats() {
+        return Map.of(
+                "byId", toResponse(byId),
+                "byUsername", toResponse(byUsername));
+    }
+
+    private void evictNow(Long userId) {
+        byId.invalidate(userId);
+        byUsername.asMap().values().removeIf(user -> user.id().equals(userId));
+    }
+
+    private static CacheStatsResponse toResponse(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatsResponse(
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount());
+    }
+}
@@ -28,15 +28,16 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserCacheService userCacheService;
 
     @Override
     public Optional<UserEntity> findByUsername(String username) {
-        return userRepository.findByUsername(username);
+        return userCacheService.findByUsername(username);
     }
 
     @Override
     public UserResponse getUserProfile(Long id) {
-        UserEntity user = userRepository.findById(id)
+        UserEntity user = userCacheService.findById(id)
                 .orElseThrow(() -> new ResourceAlreadyExistsException("User not found"));
 
         return UserMapper.toResponse(user);
@@ -72,6 +73,7 @@ public class UserServiceImpl implements UserService {
                 .createdAt(Instant.now())
                 .build();
             userRepository.save(user);
+            userCacheService.evict(user.getId());
     }
 
     @Override
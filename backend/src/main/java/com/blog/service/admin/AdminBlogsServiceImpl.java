@@ -2,16 +2,22 @@ package com.blog.service.admin;
 
 import com.blog.dto.BlogResponse;
 import com.blog.entity.BlogEntity;
+import com.blog.event.BlogChangedEvent;
 import com.blog.exception.BlogUnavailableException;
 import com.blog.mapper.BlogMapper;
 import com.blog.repository.BlogRepository;
 import com.blog.repository.CommentRepository;
 import com.blog.repository.ReportRepository;
+import com.blog.service.MediaStorageService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,10 +30,13 @@ public class AdminBlogsServiceImpl implements AdminBlogsService {
     private final BlogRepository blogRepository;
     private final CommentRepository commentRepository;
     private final ReportRepository reportRepository;
+    private final MediaStorageService mediaStorageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Override
     public List<BlogResponse> getAllBlogs() {
-        return blogRepository.findAll().stream()
+        return blogRepository.findAllRows().stream()
                 .map(BlogMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -35,9 +44,12 @@ public class AdminBlogsServiceImpl implements AdminBlogsService {
     @Override
     @Transactional
     public void deleteBlog(Long blogId) {
-        blogRepository.findById(blogId)
+        BlogEntity blog = blogRepository.findById(blogId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Blog not found"));
 
+        // ✅ Release the blog's media references (files are purged after commit)
+        mediaStorageService.delete(parseMedia(blog.getMedia()));
+
         // delete related content first (FK safety)
         commentRepository.deleteAllByBlog_Id(blogId);
 
@@ -45,6 +57,7 @@ public class AdminBlogsServiceImpl implements AdminBlogsService {
         reportRepository.deleteAllByTargetIdAndType(blogId, "BLOG"); // or "POST"
 
         blogRepository.deleteById(blogId);
+        eventPublisher.publishEvent(new BlogChangedEvent(blogId));
     }
 
     @Override
@@ -55,8 +68,23 @@ public class AdminBlogsServiceImpl implements AdminBlogsService {
 
         blog.setVisible(!blog.getVisible());
         blogRepository.save(blog);
+        eventPublisher.publishEvent(new BlogChangedEvent(blogId));
 
         return blog.getVisible();
     }
 
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+    private List<String> parseMedia(String mediaJson) {
+        if (mediaJson == null || mediaJson.isBlank()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(mediaJson, new TypeReference<List<String>>() {
+            });
+        } catch (Exception ignored) {
+            return List.of(mediaJson);
+        }
+    }
 }
@@ -1,15 +1,28 @@
 package com.blog.service.admin;
 
 import com.blog.entity.UserEntity;
+import com.blog.event.UserBannedEvent;
+import com.blog.event.UserDeletedEvent;
+import com.blog.event.UserUnbannedEvent;
 import com.blog.exception.ResourceNotFoundException;
 import com.blog.repository.BlogRepository;
 import com.blog.repository.CommentRepository;
 import com.blog.repository.FollowRepository;
 import com.blog.repository.LikeRepository;
+import com.blog.repository.NotificationCounterRepository;
 import com.blog.repository.NotificationRepository;
+import com.blog.repository.TimelineRepository;
 import com.blog.repository.UserRepository;
+import com.blog.service.MediaStorageService;
+import com.blog.service.UserCacheService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,7 +37,13 @@ public class AdminUsersModerationServiceImpl implements AdminUsersModerationServ
     private final CommentRepository commentRepository;
     private final LikeRepository likeRepository;
     private final NotificationRepository notificationRepository;
+    private final NotificationCounterRepository notificationCounterRepository;
     private final FollowRepository followRepository;
+    private final TimelineRepository timelineRepository;
+    private final UserCacheService userCacheService;
+    private final MediaStorageService mediaStorageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Override
     @Transactional
@@ -36,6 +55,8 @@ public class AdminUsersModerationServiceImpl implements AdminUsersModerationServ
 
         user.setBanned(true);
         userRepository.save(user);
+        userCacheService.evict(userId);
+        eventPublisher.publishEvent(new UserBannedEvent(userId));
     }
 
     @Override
@@ -48,6 +69,8 @@ public class AdminUsersModerationServiceImpl implements AdminUsersModerationServ
 
         user.setBanned(false);
         userRepository.save(user);
+        userCacheService.evict(userId);
+        eventPublisher.publishEvent(new UserUnbannedEvent(userId));
     }
 
     @Override
@@ -65,10 +88,12 @@ public class AdminUsersModerationServiceImpl implements AdminUsersModerationServ
         // commentRepository.deleteAllByUserId(userId); etc.
 
         userRepository.deleteById(userId);
+        userCacheService.evict(userId);
+        eventPublisher.publishEvent(new UserDeletedEvent(userId));
     }
 
     private void blockSelfAction(Long targetUserId, String currentUsername) {
-        UserEntity current = userRepository.findByUsername(currentUsername)
+        UserEntity current = userCacheService.findByUsername(currentUsername)
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.INTERNAL_SERVER_ERROR, "Current user not found"));
 
@@ -81,18 +106,44 @@ public class AdminUsersModerationServiceImpl implements AdminUsersModerationServ
     @Transactional
     public void deleteUserAndAllContent(Long userId) {
         // ✅ Order matters: children first
+        commentRepository.deleteRepliesToUser(userId); // replies in threads the user started
         commentRepository.deleteAllByUserId(userId); // user's comments
         likeRepository.deleteAllByUserId(userId); // user's likes
         commentRepository.deleteAllByBlogUserId(userId); // Custom method needed, see below
             likeRepository.deleteAllByBlogUserId(userId);  // Critical for this error
 
+        timelineRepository.deleteAllByUserId(userId); // feed rows as follower or author
+
+        // ✅ Release the media references of the user's blogs (files are purged after commit)
+        List<String> mediaPaths = new ArrayList<>();
+        for (String mediaJson : blogRepository.findMediaByUserId(userId)) {
+            mediaPaths.addAll(parseMedia(mediaJson));
+        }
+        mediaStorageService.delete(mediaPaths);
 
         blogRepository.deleteAllByUserId(userId); // user's blogs
         followRepository.deleteAllByFollowerId(userId); // user's follows
         followRepository.deleteAllByFollowingId(userId);
         notificationRepository.deleteAllByUserId(userId);
+        notificationCounterRepository.deleteByUserId(userId);
 
         userRepository.deleteById(userId); // ✅ finally user
+        userCacheService.evict(userId);
+        eventPublisher.publishEvent(new UserDeletedEvent(userId));
     }
 
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+    private List<String> parseMedia(String mediaJson) {
+        if (mediaJson == null || mediaJson.isBlank()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(mediaJson, new TypeReference<List<String>>() {
+            });
+        } catch (Exception ignored) {
+            return List.of(mediaJson);
+        }
+    }
 }
@@ -0,0 +1,67 @@
+package com.blog.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Files under ./uploads, served by MediaController. Only works for a single node
+ * (or a shared file system mounted at the same path on every node).
+ */
+@Component
+@ConditionalOnProperty(name = "blog.media.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalMediaStorageBackend implements MediaStorageBackend {
+
+    private static final Path ROOT = Paths.get("uploads");
+
+    @Override
+    public long size(String key) throws IOException {
+        Path file = ROOT.resolve(key);
+        return Files.isRegularFile(file) ? Files.size(file) : -1;
+    }
+
+    @Override
+    public void put(String key, Path staged, String contentType) throws IOException {
+        Path target = ROOT.resolve(key);
+        Files.createDirectories(target.getParent());
+        // Same file system as STAGING_DIR: a rename, never a partially visible file
+        Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(ROOT.resolve(key));
+    }
+
+    @Override
+    public byte[] readHeader(String key, int bytes) throws IOException {
+        try (InputStream in = open(key)) {
+            return in.readNBytes(bytes);
+        }
+    }
+
+    @Override
+    public void delete(List<String> keys) throws IOException {
+        for (String key : keys) {
+            Files.deleteIfExists(ROOT.resolve(key));
+        }
+    }
+
+    @Override
+    public Optional<String> downloadUrl(String key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<SignedRequest> presignUpload(String key, String contentType, long size, byte[] sha256) {
+        return Optional.empty();
+    }
+}
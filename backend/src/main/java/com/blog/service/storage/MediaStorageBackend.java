@@ -0,0 +1,49 @@
+package com.blog.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Where media bytes live (blog.media.storage.type = local | s3).
+ *
+ * Keys are the relative paths kept in media_blobs ("ab/cd/<sha256>.jpg",
+ * "ab/cd/<sha256>_w640.jpg"); the public path stays /api/uploads/<key> whatever the
+ * backend. Uploads are hashed and checked in {@link #STAGING_DIR} first and then
+ * handed over with {@link #put}.
+ */
+public interface MediaStorageBackend {
+
+    // Local on every backend; for the local one it shares the file system with the blobs
+    Path STAGING_DIR = Paths.get("uploads", ".tmp");
+
+    /** Pre-signed request the client sends itself, bypassing this server. */
+    record SignedRequest(String url, Map<String, String> headers, Instant expiresAt) {}
+
+    /** Size in bytes, or -1 when nothing is stored under key. */
+    long size(String key) throws IOException;
+
+    /** Publishes a staged file under key. The staged file may be moved away. */
+    void put(String key, Path staged, String contentType) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    /** First bytes of the object (fewer when it is shorter). */
+    byte[] readHeader(String key, int bytes) throws IOException;
+
+    void delete(List<String> keys) throws IOException;
+
+    /** Where clients should fetch key from instead of this server; empty = served locally. */
+    Optional<String> downloadUrl(String key);
+
+    /**
+     * Pre-signed PUT of exactly these bytes (the store rejects a body whose SHA-256
+     * differs); empty when the backend has no direct uploads.
+     */
+    Optional<SignedRequest> presignUpload(String key, String contentType, long size, byte[] sha256);
+}
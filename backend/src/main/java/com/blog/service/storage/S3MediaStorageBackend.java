@@ -0,0 +1,266 @@
+package com.blog.service.storage;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import jakarta.annotation.PreDestroy;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+
+/**
+ * S3-compatible object store (AWS S3, MinIO, ...): every node sees the same media.
+ *
+ * - staged files above multipart-threshold are sent as a multipart upload, one
+ *   part-size buffer at a time; smaller ones with a single PUT
+ * - GET /api/uploads/** redirects to public-base-url (bucket behind a CDN) or, when
+ *   that is not set, to a pre-signed GET, so media bytes never pass through the JVM
+ * - clients can upload directly with a pre-signed PUT bound to the content SHA-256
+ *
+ * For MinIO set endpoint (e.g. http://localhost:9000) and keep path-style=true.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.media.storage.type", havingValue = "s3")
+public class S3MediaStorageBackend implements MediaStorageBackend {
+
+    // Content-addressed keys never change content
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    // S3 minimum for every part but the last
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    private static final int DELETE_BATCH = 1000;
+
+    private final S3Client client;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final String publicBaseUrl;
+    private final Duration presignTtl;
+    private final long multipartThreshold;
+    private final int partSize;
+
+    public S3MediaStorageBackend(
+            @Value("${blog.media.s3.bucket}") String bucket,
+            @Value("${blog.media.s3.region:us-east-1}") String region,
+            @Value("${blog.media.s3.endpoint:}") String endpoint,
+            @Value("${blog.media.s3.path-style:true}") boolean pathStyle,
+            @Value("${blog.media.s3.access-key:}") String accessKey,
+            @Value("${blog.media.s3.secret-key:}") String secretKey,
+            @Value("${blog.media.s3.public-base-url:}") String publicBaseUrl,
+            @Value("${blog.media.s3.presign-ttl-seconds:900}") long presignTtlSeconds,
+            @Value("${blog.media.s3.multipart-threshold:32MB}") DataSize multipartThreshold,
+            @Value("${blog.media.s3.part-size:8MB}") DataSize partSize) {
+        this.bucket = bucket;
+        this.publicBaseUrl = publicBaseUrl.endsWith("/")
+                ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1)
+                : publicBaseUrl;
+        this.presignTtl = Duration.ofSeconds(presignTtlSeconds);
+        this.multipartThreshold = multipartThreshold.toBytes();
+        this.partSize = (int) Math.max(MIN_PART_SIZE, partSize.toBytes());
+
+        // Without explicit keys: environment, profile, instance role, ...
+        AwsCredentialsProvider credentials = accessKey.isBlank()
+                ? DefaultCredentialsProvider.create()
+                : StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        S3Configuration configuration = S3Configuration.builder().pathStyleAccessEnabled(pathStyle).build();
+
+        S3ClientBuilder clientBuilder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(configuration);
+        S3Presigner.Builder presignerBuilder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(configuration);
+        if (!endpoint.isBlank()) {
+            clientBuilder.endpointOverride(URI.create(endpoint));
+            presignerBuilder.endpointOverride(URI.create(endpoint));
+        }
+        this.client = clientBuilder.build();
+        this.presigner = presignerBuilder.build();
+    }
+
+    @PreDestroy
+    public void close() {
+        presigner.close();
+        client.close();
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        try {
+            return client.headObject(b -> b.bucket(bucket).key(key)).contentLength();
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return -1;
+            }
+            throw new IOException("Failed to read object metadata: " + key, e);
+        } catch (SdkException e) {
+            throw new IOException("Failed to read object metadata: " + key, e);
+        }
+    }
+
+    @Override
+    public void put(String key, Path staged, String contentType) throws IOException {
+        try {
+            if (Files.size(staged) > multipartThreshold) {
+                putMultipart(key, staged, contentType);
+            } else {
+                client.putObject(b -> b.bucket(bucket).key(key).contentType(contentType).cacheControl(CACHE_CONTROL),
+                        RequestBody.fromFile(staged));
+            }
+        } catch (SdkException e) {
+            throw new IOException("Failed to upload object: " + key, e);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        try {
+            return client.getObject(b -> b.bucket(bucket).key(key));
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                throw new FileNotFoundException(key);
+            }
+            throw new IOException("Failed to read object: " + key, e);
+        } catch (SdkException e) {
+            throw new IOException("Failed to read object: " + key, e);
+        }
+    }
+
+    @Override
+    public byte[] readHeader(String key, int bytes) throws IOException {
+        try (ResponseInputStream<GetObjectResponse> in = client.getObject(
+                b -> b.bucket(bucket).key(key).range("bytes=0-" + (bytes - 1)))) {
+            return in.readNBytes(bytes);
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                throw new FileNotFoundException(key);
+            }
+            throw new IOException("Failed to read object: " + key, e);
+        } catch (SdkException e) {
+            throw new IOException("Failed to read object: " + key, e);
+        }
+    }
+
+    @Override
+    public void delete(List<String> keys) throws IOException {
+        try {
+            for (int from = 0; from < keys.size(); from += DELETE_BATCH) {
+                List<ObjectIdentifier> batch = keys.subList(from, Math.min(keys.size(), from + DELETE_BATCH))
+                        .stream()
+                        .map(key -> ObjectIdentifier.builder().key(key).build())
+                        .toList();
+                client.deleteObjects(b -> b.bucket(bucket).delete(d -> d.objects(batch).quiet(true)));
+            }
+        } catch (SdkException e) {
+            throw new IOException("Failed to delete objects", e);
+        }
+    }
+
+    @Override
+    public Optional<String> downloadUrl(String key) {
+        if (!publicBaseUrl.isBlank()) {
+            return Optional.of(publicBaseUrl + "/" + key);
+        }
+        return Optional.of(presigner.presignGetObject(b -> b
+                .signatureDuration(presignTtl)
+                .getObjectRequest(r -> r.bucket(bucket).key(key)))
+                .url().toString());
+    }
+
+    @Override
+    public Optional<SignedRequest> presignUpload(String key, String contentType, long size, byte[] sha256) {
+        PutObjectRequest put = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .contentLength(size)
+                .cacheControl(CACHE_CONTROL)
+                .checksumSHA256(Base64.getEncoder().encodeToString(sha256))
+                .build();
+        PresignedPutObjectRequest presigned = presigner.presignPutObject(b -> b
+                .signatureDuration(presignTtl)
+                .putObjectRequest(put));
+
+        // Headers the client must send as signed; Host is set by the client itself
+        Map<String, String> headers = new LinkedHashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            if (!name.equalsIgnoreCase("host")) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+        return Optional.of(new SignedRequest(presigned.url().toString(), headers, presigned.expiration()));
+    }
+
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+    private void putMultipart(String key, Path staged, String contentType) throws IOException {
+        String uploadId = client.createMultipartUpload(b -> b
+                .bucket(bucket).key(key).contentType(contentType).cacheControl(CACHE_CONTROL))
+                .uploadId();
+        try (FileChannel in = FileChannel.open(staged, StandardOpenOption.READ)) {
+            List<CompletedPart> parts = new ArrayList<>();
+            ByteBuffer buffer = ByteBuffer.allocate(partSize);
+            long position = 0;
+            long size = in.size();
+            for (int partNumber = 1; position < size; partNumber++) {
+                buffer.clear();
+                while (buffer.hasRemaining() && in.read(buffer, position + buffer.position()) > 0) {
+                    // fill the part
+                }
+                buffer.flip();
+                int number = partNumber;
+                String etag = client.uploadPart(
+                        b -> b.bucket(bucket).key(key).uploadId(uploadId).partNumber(number),
+                        RequestBody.fromByteBuffer(buffer)).eTag();
+                parts.add(CompletedPart.builder().partNumber(number).eTag(etag).build());
+                position += buffer.limit();
+            }
+            client.completeMultipartUpload(b -> b
+                    .bucket(bucket).key(key).uploadId(uploadId)
+                    .multipartUpload(m -> m.parts(parts)));
+        } catch (IOException | RuntimeException e) {
+            // Uploaded parts are billed until aborted
+            try {
+                client.abortMultipartUpload(b -> b.bucket(bucket).key(key).uploadId(uploadId));
+            } catch (SdkException ignored) {
+                // left to the bucket's incomplete-upload lifecycle rule
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.blog.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.blog.service.storage.LocalMediaStorageBackend;
+
+/**
+ * Byte ranges and conditional requests of GET /uploads/** on the local backend
+ * (no Spring context: the controller serves a file under ./uploads).
+ */
+class MediaControllerRangeTests {
+
+	private static final int LENGTH = 100;
+
+	private final String directory = "range-" + UUID.randomUUID();
+	private final String url = "/uploads/" + directory + "/sample.bin";
+	private final String etag = "\"sample\"";
+	private final byte[] content = new byte[LENGTH];
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		for (int i = 0; i < LENGTH; i++) {
+			content[i] = (byte) i;
+		}
+		Path file = Paths.get("uploads", directory, "sample.bin");
+		Files.createDirectories(file.getParent());
+		Files.write(file, content);
+
+		MediaController controller = new MediaController();
+		ReflectionTestUtils.setField(controller, "mediaStorageBackend", new LocalMediaStorageBackend());
+		mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+	}
+
+	@AfterEach
+	void cleanUp() throws IOException {
+		Files.deleteIfExists(Paths.get("uploads", directory, "sample.bin"));
+		Files.deleteIfExists(Paths.get("uploads", directory));
+	}
+
+	@Test
+	void wholeFileWithoutRange() throws Exception {
+		MvcResult result = mockMvc.perform(get(url))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, LENGTH))
+				.andReturn();
+		assertArrayEquals(content, result.getResponse().getContentAsByteArray());
+	}
+
+	@Test
+	void closedRange() throws Exception {
+		MvcResult result = mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=10-19"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-19/100"))
+				.andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+				.andReturn();
+		assertArrayEquals(slice(10, 20), result.getResponse().getContentAsByteArray());
+	}
+
+	@Test
+	void openEndedRange() throws Exception {
+		MvcResult result = mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=95-"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 95-99/100"))
+				.andReturn();
+		assertArrayEquals(slice(95, 100), result.getResponse().getContentAsByteArray());
+	}
+
+	@Test
+	void rangeEndIsClampedToTheFile() throws Exception {
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=90-500"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 90-99/100"));
+	}
+
+	@Test
+	void suffixRange() throws Exception {
+		MvcResult result = mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=-10"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 90-99/100"))
+				.andReturn();
+		assertArrayEquals(slice(90, 100), result.getResponse().getContentAsByteArray());
+	}
+
+	@Test
+	void suffixLongerThanTheFileIsTheWholeFile() throws Exception {
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=-500"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+				.andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, LENGTH));
+	}
+
+	@Test
+	void startPastTheEndIsNotSatisfiable() throws Exception {
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=100-200"))
+				.andExpect(status().isRequestedRangeNotSatisfiable())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */100"));
+	}
+
+	@Test
+	void emptySuffixIsNotSatisfiable() throws Exception {
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=-0"))
+				.andExpect(status().isRequestedRangeNotSatisfiable())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */100"));
+	}
+
+	@Test
+	void reversedRangeIsNotSatisfiable() throws Exception {
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=20-10"))
+				.andExpect(status().isRequestedRangeNotSatisfiable());
+	}
+
+	@Test
+	void multipleRangesFallBackToTheWholeFile() throws Exception {
+		MvcResult result = mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-9,20-29"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+				.andReturn();
+		assertArrayEquals(content, result.getResponse().getContentAsByteArray());
+	}
+
+	@Test
+	void otherUnitsAndGarbageFallBackToTheWholeFile() throws Exception {
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "items=0-9"))
+				.andExpect(status().isOk());
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=abc-def"))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void ifRangeWithTheCurrentEtagServesTheRange() throws Exception {
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, etag))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-9/100"));
+	}
+
+	@Test
+	void ifRangeWithAnotherOrWeakEtagServesTheWholeFile() throws Exception {
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, "\"other\""))
+				.andExpect(status().isOk())
+				.andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, LENGTH));
+		// If-Range uses the strong comparison
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, "W/" + etag))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void ifNoneMatchAnswers304() throws Exception {
+		mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "*"))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+				.andExpect(status().isOk());
+	}
+
+	// ─────────────────────────────────────────────
+	// Helpers
+	// ─────────────────────────────────────────────
+	private byte[] slice(int from, int to) {
+		return Arrays.copyOfRange(content, from, to);
+	}
+}
@@ -0,0 +1,94 @@
+package com.blog.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.blog.dto.BlogRow;
+import com.blog.entity.BlogEntity;
+import com.blog.entity.UserEntity;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class BlogRowQueryStatementCountTests {
+
+	private static final int AUTHORS = 5;
+	private static final int BLOGS_PER_AUTHOR = 4;
+
+	@Autowired
+	private BlogRepository blogRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private Statistics statistics;
+	private Long firstAuthorId;
+
+	@BeforeEach
+	void seed() {
+		for (int a = 0; a < AUTHORS; a++) {
+			String suffix = UUID.randomUUID().toString().substring(0, 8);
+			UserEntity author = userRepository.save(UserEntity.builder()
+					.username("stat_" + suffix)
+					.email("stat_" + suffix + "@example.com")
+					.password("pw_" + UUID.randomUUID())
+					.build());
+			if (firstAuthorId == null) {
+				firstAuthorId = author.getId();
+			}
+
+			for (int b = 0; b < BLOGS_PER_AUTHOR; b++) {
+				blogRepository.save(BlogEntity.builder()
+						.title("title " + b)
+						.content("content of blog " + b + " by " + author.getUsername())
+						.media("[]")
+						.userId(author)
+						.like_count(0L)
+						.comment_count(0L)
+						.build());
+			}
+		}
+
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManager.getEntityManagerFactory()
+				.unwrap(SessionFactory.class)
+				.getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void userBlogPageIsOneStatement() {
+		List<BlogRow> rows = blogRepository.findUserBlogRows(firstAuthorId, PageRequest.of(0, 10));
+
+		assertEquals(BLOGS_PER_AUTHOR, rows.size());
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+	@Test
+	void allBlogsIsOneStatementRegardlessOfAuthorCount() {
+		List<BlogRow> rows = blogRepository.findAllRows();
+
+		assertTrue(rows.size() >= AUTHORS * BLOGS_PER_AUTHOR);
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+}
@@ -0,0 +1,104 @@
+package com.blog.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.blog.dto.CreatedNotification;
+import com.blog.dto.NotificationDraft;
+import com.blog.entity.UserEntity;
+
+/**
+ * 100k notification rows written as one INSERT per row (the old fan-out path)
+ * and through {@link NotificationRepositoryCustom#bulkInsert}, each in its own
+ * transaction. Run with mvn -Pbenchmark test.
+ */
+@SpringBootTest
+@Tag("benchmark")
+class NotificationBulkInsertBenchmarkTests {
+
+	private static final int ROWS = 100_000;
+	private static final int RECEIVERS = 1_000;
+
+	private static final String INSERT_ONE = "INSERT INTO notifications "
+			+ "(id, user_id, status, type, content, related_id, is_read, actor_count, created_at, updated_at) "
+			+ "VALUES (nextval('notifications_seq'), ?, true, ?, ?, ?, false, 1, ?, ?)";
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private final List<Long> receiverIds = new ArrayList<>();
+
+	@BeforeEach
+	void seedReceivers() {
+		List<UserEntity> users = new ArrayList<>(RECEIVERS);
+		for (int i = 0; i < RECEIVERS; i++) {
+			String suffix = UUID.randomUUID().toString().substring(0, 12);
+			users.add(UserEntity.builder()
+					.username("bench_" + suffix)
+					.email("bench_" + suffix + "@example.com")
+					.password("pw_" + UUID.randomUUID())
+					.build());
+		}
+		userRepository.saveAll(users).forEach(user -> receiverIds.add(user.getId()));
+	}
+
+	@AfterEach
+	void cleanUp() {
+		for (Long userId : receiverIds) {
+			jdbcTemplate.update("DELETE FROM notifications WHERE user_id = ?", userId);
+			jdbcTemplate.update("DELETE FROM notification_counters WHERE user_id = ?", userId);
+		}
+		userRepository.deleteAllById(receiverIds);
+	}
+
+	@Test
+	void bulkInsertOf100kRows() {
+		List<NotificationDraft> drafts = new ArrayList<>(ROWS);
+		for (int i = 0; i < ROWS; i++) {
+			drafts.add(new NotificationDraft(receiverIds.get(i % RECEIVERS), "NEW_BLOG",
+					"bench wrote a new blog", (long) i, null));
+		}
+
+		long perRowStarted = System.nanoTime();
+		transactionTemplate.executeWithoutResult(status -> {
+			Timestamp now = Timestamp.from(Instant.now());
+			for (NotificationDraft draft : drafts) {
+				jdbcTemplate.update(INSERT_ONE, draft.userId(), draft.type(), draft.content(), draft.relatedId(),
+						now, now);
+			}
+		});
+		long perRowMillis = (System.nanoTime() - perRowStarted) / 1_000_000;
+
+		long bulkStarted = System.nanoTime();
+		List<CreatedNotification> created = transactionTemplate.execute(
+				status -> notificationRepository.bulkInsert(drafts));
+		long bulkMillis = (System.nanoTime() - bulkStarted) / 1_000_000;
+
+		assertEquals(ROWS, created.size());
+		System.out.printf("notifications x %d: per-row %d ms (%d statements), bulkInsert %d ms (%d statements)%n",
+				ROWS, perRowMillis, ROWS, bulkMillis, (ROWS + 499) / 500);
+	}
+}
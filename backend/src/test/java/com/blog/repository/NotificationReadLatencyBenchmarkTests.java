@@ -0,0 +1,131 @@
+package com.blog.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.blog.entity.NotificationEntity;
+import com.blog.service.NotificationPartitionManager;
+
+/**
+ * Notification history reads over a year of seeded rows (1M rows, see
+ * benchmark/seed-notifications.sql): latency of the first page and of every
+ * deeper keyset page, and the plan of the history query, which must not read
+ * partitions older than the read horizon. Run with mvn -Pbenchmark test.
+ */
+@SpringBootTest
+@Tag("benchmark")
+class NotificationReadLatencyBenchmarkTests {
+
+	private static final int PAGE_SIZE = 20;
+	private static final int FIRST_PAGE_RUNS = 200;
+	private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'uuuu'm'MM");
+
+	// What findByUserWithin runs, with literal parameters so the plan shows pruning
+	private static final String EXPLAIN_HISTORY = "EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM notifications "
+			+ "WHERE user_id = %d AND created_at >= '%s' ORDER BY created_at DESC, id DESC LIMIT %d";
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private NotificationPartitionManager partitions;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private Long userId;
+
+	@BeforeEach
+	void seed() {
+		new ResourceDatabasePopulator(new ClassPathResource("benchmark/seed-notifications.sql")).execute(dataSource);
+		userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'seed_notif_1'", Long.class);
+	}
+
+	@AfterEach
+	void cleanUp() {
+		new ResourceDatabasePopulator(new ClassPathResource("benchmark/cleanup-notifications.sql")).execute(dataSource);
+	}
+
+	@Test
+	void historyReadsStayFlatAcrossPages() {
+		Instant horizon = partitions.readHorizon();
+		PageRequest page = PageRequest.of(0, PAGE_SIZE);
+
+		List<Long> firstPage = new ArrayList<>(FIRST_PAGE_RUNS);
+		for (int i = 0; i < FIRST_PAGE_RUNS; i++) {
+			long started = System.nanoTime();
+			notificationRepository.findByUserWithin(userId, horizon, page);
+			firstPage.add(System.nanoTime() - started);
+		}
+
+		// Walk the whole retained history with the keyset cursor
+		List<Long> deeperPages = new ArrayList<>();
+		Slice<NotificationEntity> slice = notificationRepository.findByUserWithin(userId, horizon, page);
+		int rows = slice.getNumberOfElements();
+		while (slice.hasNext()) {
+			NotificationEntity last = slice.getContent().get(slice.getNumberOfElements() - 1);
+			long started = System.nanoTime();
+			slice = notificationRepository.findByUserBefore(userId, horizon, last.getCreatedAt(), last.getId(), page);
+			deeperPages.add(System.nanoTime() - started);
+			rows += slice.getNumberOfElements();
+		}
+		assertFalse(deeperPages.isEmpty(), "seed should give more than one page");
+
+		System.out.printf("notification history (%d rows, %d pages): first page p50 %.2f ms p95 %.2f ms, "
+				+ "deeper pages p50 %.2f ms p95 %.2f ms%n",
+				rows, deeperPages.size() + 1,
+				percentile(firstPage, 50), percentile(firstPage, 95),
+				percentile(deeperPages, 50), percentile(deeperPages, 95));
+	}
+
+	@Test
+	void historyPlanSkipsExpiredPartitions() {
+		Instant horizon = partitions.readHorizon();
+		List<String> plan = jdbcTemplate.queryForList(
+				String.format(EXPLAIN_HISTORY, userId, horizon, PAGE_SIZE + 1), String.class);
+		plan.forEach(System.out::println);
+
+		String text = String.join("\n", plan);
+		YearMonth expired = YearMonth.from(horizon.atZone(ZoneOffset.UTC)).minusMonths(1);
+		for (int i = 0; i < 12; i++, expired = expired.minusMonths(1)) {
+			String partition = "notifications_" + expired.format(PARTITION_SUFFIX);
+			assertFalse(text.contains(partition), partition + " is older than the horizon but was scanned");
+		}
+		assertTrue(text.contains("notifications_"), "plan should read monthly partitions");
+	}
+
+	// ─────────────────────────────────────────────
+	// Helpers
+	// ─────────────────────────────────────────────
+	private static double percentile(List<Long> nanos, int percentile) {
+		List<Long> sorted = new ArrayList<>(nanos);
+		Collections.sort(sorted);
+		int index = Math.min(sorted.size() - 1, (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1);
+		return sorted.get(Math.max(0, index)) / 1_000_000.0;
+	}
+}
@@ -0,0 +1,177 @@
+package com.blog.service.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.blog.service.MediaStorageService;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+/**
+ * S3MediaStorageBackend against a MinIO container (skipped when Docker is not
+ * available). The multipart threshold is lowered to 6MB so a 12MB file goes
+ * through three parts.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class S3MediaStorageBackendTests {
+
+	private static final String BUCKET = "blog-media-test";
+	private static final DataSize THRESHOLD = DataSize.ofMegabytes(6);
+	private static final DataSize PART_SIZE = DataSize.ofMegabytes(5);
+
+	@Container
+	private static final MinIOContainer MINIO = new MinIOContainer("minio/minio:RELEASE.2023-09-04T19-57-37Z");
+
+	private static S3Client admin;
+	private static S3MediaStorageBackend backend;
+
+	@TempDir
+	private Path staging;
+
+	@BeforeAll
+	static void createBucket() {
+		admin = S3Client.builder()
+				.region(Region.US_EAST_1)
+				.endpointOverride(URI.create(MINIO.getS3URL()))
+				.credentialsProvider(StaticCredentialsProvider.create(
+						AwsBasicCredentials.create(MINIO.getUserName(), MINIO.getPassword())))
+				.forcePathStyle(true)
+				.build();
+		admin.createBucket(b -> b.bucket(BUCKET));
+
+		backend = new S3MediaStorageBackend(BUCKET, "us-east-1", MINIO.getS3URL(), true,
+				MINIO.getUserName(), MINIO.getPassword(), "", 900, THRESHOLD, PART_SIZE);
+	}
+
+	@AfterAll
+	static void close() {
+		backend.close();
+		admin.close();
+	}
+
+	@Test
+	void putAboveThresholdIsMultipart() throws Exception {
+		byte[] content = randomBytes((int) DataSize.ofMegabytes(12).toBytes() + 123);
+		String key = "aa/bb/multipart.bin";
+
+		backend.put(key, stage(content), "application/octet-stream");
+
+		assertEquals(content.length, backend.size(key));
+		// Multipart objects get "<md5 of part md5s>-<parts>" ETags
+		String etag = admin.headObject(b -> b.bucket(BUCKET).key(key)).eTag();
+		assertTrue(etag.replace("\"", "").endsWith("-3"), "expected 3 parts, ETag " + etag);
+		try (InputStream in = backend.open(key)) {
+			assertArrayEquals(content, in.readAllBytes());
+		}
+	}
+
+	@Test
+	void putBelowThresholdIsOnePut() throws Exception {
+		byte[] content = randomBytes(64 * 1024);
+		String key = "aa/bb/single.bin";
+
+		backend.put(key, stage(content), "application/octet-stream");
+
+		String etag = admin.headObject(b -> b.bucket(BUCKET).key(key)).eTag();
+		assertFalse(etag.contains("-"), "expected a single PUT, ETag " + etag);
+		assertEquals("public, max-age=31536000, immutable",
+				admin.headObject(b -> b.bucket(BUCKET).key(key)).cacheControl());
+	}
+
+	@Test
+	void sizeAndReadHeader() throws Exception {
+		byte[] content = randomBytes(1000);
+		String key = "aa/bb/header.bin";
+		backend.put(key, stage(content), "application/octet-stream");
+
+		assertEquals(1000, backend.size(key));
+		assertEquals(-1, backend.size("aa/bb/missing.bin"));
+		assertArrayEquals(Arrays.copyOf(content, 64), backend.readHeader(key, 64));
+		// Shorter objects return what there is
+		assertEquals(1000, backend.readHeader(key, 4096).length);
+		assertThrows(FileNotFoundException.class, () -> backend.readHeader("aa/bb/missing.bin", 64));
+		assertThrows(FileNotFoundException.class, () -> backend.open("aa/bb/missing.bin"));
+	}
+
+	@Test
+	void deleteRemovesObjectsAndIgnoresMissingOnes() throws Exception {
+		backend.put("aa/bb/one.bin", stage(randomBytes(10)), "application/octet-stream");
+		backend.put("aa/bb/two.bin", stage(randomBytes(10)), "application/octet-stream");
+
+		backend.delete(List.of("aa/bb/one.bin", "aa/bb/two.bin", "aa/bb/never-stored.bin"));
+
+		assertEquals(-1, backend.size("aa/bb/one.bin"));
+		assertEquals(-1, backend.size("aa/bb/two.bin"));
+	}
+
+	@Test
+	void claimRejectsContentNotMatchingItsType() throws Exception {
+		// Named .png, but the bytes are not a PNG
+		String hash = "ab".repeat(32);
+		String key = "ab/ab/" + hash + ".png";
+		backend.put(key, stage(randomBytes(2048)), "image/png");
+
+		MediaStorageService storage = mediaStorageService();
+
+		IllegalArgumentException rejected = assertThrows(IllegalArgumentException.class,
+				() -> storage.claim(List.of("/api/uploads/" + key)));
+		assertTrue(rejected.getMessage().startsWith("File content does not match declared type"),
+				rejected.getMessage());
+	}
+
+	@Test
+	void claimRejectsMissingUploads() {
+		String key = "cd/cd/" + "cd".repeat(32) + ".png";
+
+		IllegalArgumentException rejected = assertThrows(IllegalArgumentException.class,
+				() -> mediaStorageService().claim(List.of("/api/uploads/" + key)));
+		assertTrue(rejected.getMessage().startsWith("Upload not found"), rejected.getMessage());
+	}
+
+	// ─────────────────────────────────────────────
+	// Helpers
+	// ─────────────────────────────────────────────
+	// claim() rejects before touching the database, so no DataSource is needed
+	private static MediaStorageService mediaStorageService() {
+		return new MediaStorageService(new JdbcTemplate(), new TransactionTemplate(), null, backend,
+				DataSize.ofMegabytes(200));
+	}
+
+	private Path stage(byte[] content) throws Exception {
+		Path file = Files.createTempFile(staging, "staged", ".part");
+		Files.write(file, content);
+		return file;
+	}
+
+	private static byte[] randomBytes(int length) {
+		byte[] bytes = new byte[length];
+		new Random(length).nextBytes(bytes);
+		return bytes;
+	}
+}
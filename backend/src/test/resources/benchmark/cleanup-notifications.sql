@@ -0,0 +1,5 @@
+-- Removes what seed-notifications.sql created.
+
+DELETE FROM notifications WHERE user_id IN (SELECT id FROM users WHERE username LIKE 'seed\_notif\_%');
+DELETE FROM notification_counters WHERE user_id IN (SELECT id FROM users WHERE username LIKE 'seed\_notif\_%');
+DELETE FROM users WHERE username LIKE 'seed\_notif\_%';
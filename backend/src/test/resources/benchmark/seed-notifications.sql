@@ -0,0 +1,20 @@
+-- Notification history for the read-latency benchmark (NotificationReadLatencyBenchmarkTests).
+-- 1,000 users (seed_notif_<n>) with 1,000 notifications each, one every ~8.75 hours over the
+-- last year, so rows land in every monthly partition (and in DEFAULT where a month has none).
+-- Every 10th row is unread. Can also be run by hand: psql "$DB_URL" -f seed-notifications.sql
+-- Remove with cleanup-notifications.sql.
+
+INSERT INTO users (username, email, password, banned, role, created_at)
+SELECT 'seed_notif_' || g, 'seed_notif_' || g || '@example.com', 'seed_pw_' || g, false, 'USER', now()
+FROM generate_series(1, 1000) AS g
+ON CONFLICT DO NOTHING;
+
+INSERT INTO notifications (id, user_id, status, type, content, related_id, is_read, actor_count, created_at, updated_at)
+SELECT nextval('notifications_seq'), u.id, true, 'NEW_BLOG', 'seed wrote a new blog', n, n % 10 <> 0, 1,
+       now() - n * interval '525 minutes' - (u.id % 525) * interval '1 minute',
+       now() - n * interval '525 minutes' - (u.id % 525) * interval '1 minute'
+FROM users u
+CROSS JOIN generate_series(1, 1000) AS n
+WHERE u.username LIKE 'seed\_notif\_%';
+
+ANALYZE notifications;
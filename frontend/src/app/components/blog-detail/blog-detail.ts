@@ -64,6 +64,9 @@ export class BlogDetail implements OnInit {
   comments = signal<Comment[]>([]);
   commentText = signal('');
   loadingComments = signal(false);
+  loadingMoreComments = signal(false);
+  // null once the last page is loaded
+  commentsCursor = signal<string | null>(null);
   postingComment = signal(false);
   commentsError = signal<string | null>(null);
 
@@ -347,8 +350,9 @@ export class BlogDetail implements OnInit {
     this.commentsError.set(null);
 
     this.blogService.getComments(id).subscribe({
-      next: (res) => {
-        this.comments.set(res);
+      next: (page) => {
+        this.comments.set(page.comments);
+        this.commentsCursor.set(page.nextCursor);
         this.loadingComments.set(false);
       },
       error: (err) => {
@@ -360,6 +364,34 @@ export class BlogDetail implements OnInit {
     });
   }
 
+  loadMoreComments(): void {
+    const blog = this.blog();
+    const cursor = this.commentsCursor();
+    if (!blog || !cursor || this.loadingMoreComments()) return;
+
+    this.loadingMoreComments.set(true);
+    this.blogService.getComments(String(blog.id), cursor).subscribe({
+      next: (page) => {
+        // A comment posted meanwhile may already be listed
+        const seen = new Set(this.comments().map((c) => c.id));
+        this.comments.update((c) => [
+          ...c,
+          ...page.comments.filter((cm) => !seen.has(cm.id)),
+        ]);
+        this.commentsCursor.set(page.nextCursor);
+        this.loadingMoreComments.set(false);
+      },
+      error: (err) => {
+        this.loadingMoreComments.set(false);
+        this.snackBar.open(
+          this.extractErrorMessage(err, 'Failed to load more comments'),
+          'OK',
+          { duration: 3000 },
+        );
+      },
+    });
+  }
+
   // ✅ Updated: blocks spaces-only + prevents double submit + safer commentCount update
   postComment(): void {
     if (this.isPostUnavailable()) return;
@@ -378,28 +410,19 @@ export class BlogDetail implements OnInit {
     this.postingComment.set(true);
 
     this.blogService.postComment(Number(blog.id), text).subscribe({
-      next: () => {
+      next: (comment) => {
         this.commentText.set('');
 
-        this.blogService.getComments(String(blog.id)).subscribe({
-          next: (comments) => {
-            this.comments.set(comments);
-
-            this.blog.update((b) =>
-              b ? { ...b, commentCount: comments.length } : b,
-            );
-
-            this.postingComment.set(false);
-          },
-          error: (err) => {
-            this.postingComment.set(false);
-            this.snackBar.open(
-              this.extractErrorMessage(err, 'Failed to refresh comments'),
-              'OK',
-              { duration: 3000 },
-            );
-          },
-        });
+        // Oldest first: the new comment belongs at the end, which is only
+        // on screen once every page is loaded (otherwise the last page brings it)
+        if (this.commentsCursor() === null) {
+          this.comments.update((c) => [...c, comment]);
+        }
+        this.blog.update((b) =>
+          b ? { ...b, commentCount: (b.commentCount ?? 0) + 1 } : b,
+        );
+
+        this.postingComment.set(false);
       },
       error: (err) => {
         this.postingComment.set(false);
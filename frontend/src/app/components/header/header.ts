@@ -13,6 +13,8 @@ import { UserService } from '../../services/user.serivce';
 import { ThemeService } from '../../services/theme.service';
 import { MatMenuModule } from '@angular/material/menu';
 import { MatDivider } from "@angular/material/divider";
+import { MatBadgeModule } from '@angular/material/badge';
+import { NotificationsService } from '../../services/notifications.service';
 
 @Component({
   selector: 'app-header',
@@ -33,7 +35,8 @@ import { MatDivider } from "@angular/material/divider";
     MatMenuModule,
     MatButtonModule,
     MatIconModule,
-    MatDivider
+    MatDivider,
+    MatBadgeModule
 ],
 })
 export class Header {
@@ -41,6 +44,7 @@ export class Header {
   private authService = inject(AuthService);
   private userService = inject(UserService);
   private themeService = inject(ThemeService);
+  private notificationsService = inject(NotificationsService);
 
   user = this.authService.currentUser;
   isLoggedIn = computed(() => !!this.user());
@@ -54,6 +58,19 @@ export class Header {
 
   isDarkMode = computed(() => this.themeService.currentTheme() === 'dark');
 
+  // Live unread count from the notification stream
+  unreadCount = this.notificationsService.unreadCount;
+
+  constructor() {
+    effect(() => {
+      if (this.isLoggedIn()) {
+        this.notificationsService.connect();
+      } else {
+        this.notificationsService.disconnect();
+      }
+    });
+  }
+
   toggleTheme() {
     this.themeService.toggle();
   }
@@ -101,6 +118,7 @@ export class Header {
   }
 
   logout(): void {
+    this.notificationsService.disconnect();
     this.authService.logout();
   }
 }
@@ -1,5 +1,6 @@
 import { CommonModule } from '@angular/common';
-import { Component, OnInit, inject, signal, computed } from '@angular/core';
+import { Component, DestroyRef, OnInit, inject, signal, computed } from '@angular/core';
+import { takeUntilDestroyed } from '@angular/core/rxjs-interop';
 import { MatButtonModule } from '@angular/material/button';
 import { MatCardModule } from '@angular/material/card';
 import { MatIconModule } from '@angular/material/icon';
@@ -42,9 +43,23 @@ export class NotificationsComponent implements OnInit {
 
   private notificationsService = inject(NotificationsService);
   private snackBar = inject(MatSnackBar);
+  private destroyRef = inject(DestroyRef);
 
   ngOnInit(): void {
     this.loadNotifications();
+
+    // Pushed over the stream: new rows go on top, grouped rows are replaced where they are
+    // (a grouped row keeps its createdAt, so a reload lists it at the same place)
+    this.notificationsService.incoming$
+      .pipe(takeUntilDestroyed(this.destroyRef))
+      .subscribe((n: NotificationItem) => {
+        const item = { ...n, isRead: n.isRead === true };
+        this.notifications.update((prev) =>
+          prev.some((p) => p.id === n.id)
+            ? prev.map((p) => (p.id === n.id ? item : p))
+            : [item, ...prev],
+        );
+      });
   }
 
   private toast(message: string): void {
@@ -92,12 +107,16 @@ export class NotificationsComponent implements OnInit {
   markAsRead(notificationId: number): void {
     // optimistic UI (instant)
     const before = this.notifications();
+    const wasUnread = before.some((n) => n.id === notificationId && n.isRead === false);
     this.notifications.update((prev) =>
       prev.map((n) => (n.id === notificationId ? { ...n, isRead: true } : n)),
     );
 
     this.notificationsService.markAsRead(notificationId).subscribe({
       next: () => {
+        if (wasUnread) {
+          this.notificationsService.unreadCount.update((count) => Math.max(0, count - 1));
+        }
         this.toast('Marked as read');
       },
       error: (err) => {
@@ -114,6 +133,7 @@ export class NotificationsComponent implements OnInit {
 
     this.notificationsService.markAllAsRead().subscribe({
       next: () => {
+        this.notificationsService.unreadCount.set(0);
         this.toast('All notifications marked as read');
       },
       error: (err) => {
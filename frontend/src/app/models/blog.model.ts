@@ -38,6 +38,12 @@ export interface Comment {
   author: UserResponse;     // ✅ Backend UserResponse
 }
 
+// GET /comments/blogs/{id}?after= (oldest first); nextCursor is null on the last page
+export interface CommentPage {
+  comments: Comment[];
+  nextCursor: string | null;
+}
+
 export interface CreateBlogRequest {
   title: string;
   content: string;
@@ -1,7 +1,7 @@
 // src/app/services/blog-detail.service.ts
 import { HttpClient } from '@angular/common/http';
 import { inject, Injectable } from '@angular/core';
-import { Blog, LikeResponse, Comment } from '../models/blog.model';
+import { Blog, LikeResponse, Comment, CommentPage } from '../models/blog.model';
 import { BASE_URL } from './env';
 import { Observable } from 'rxjs';
 
@@ -25,8 +25,11 @@ export class BlogDetailService {
     return this.http.post<{ data: LikeResponse }>(`${BASE_URL}/likes/blogs/${blogId}`, {});
   }
 
-  getComments(blogId: string): Observable<Comment[]> {
-    return this.http.get<Comment[]>(`${BASE_URL}/comments/blogs/${blogId}`);
+  // after = '' for the first page, then the previous page's nextCursor
+  getComments(blogId: string, after = '', size = 20): Observable<CommentPage> {
+    return this.http.get<CommentPage>(`${BASE_URL}/comments/blogs/${blogId}`, {
+      params: { after, size },
+    });
   }
 
   postComment(blogId: number, content: string): Observable<Comment> {
@@ -1,13 +1,25 @@
 // src/app/services/notifications.service.ts
 import { HttpClient } from '@angular/common/http';
-import { Injectable, inject } from '@angular/core';
-import { Observable } from 'rxjs';
+import { Injectable, inject, signal } from '@angular/core';
+import { Observable, Subject } from 'rxjs';
 import { BASE_URL } from './env';
 
+// Delay before reopening a dropped stream (with a fresh ticket)
+const STREAM_RETRY_MS = 5000;
+
 @Injectable({ providedIn: 'root' })
 export class NotificationsService {
   private http = inject(HttpClient);
 
+  private source: EventSource | null = null;
+  private retryTimer: ReturnType<typeof setTimeout> | null = null;
+  private connected = false;
+
+  // Pushed by GET /notifications/stream
+  readonly unreadCount = signal(0);
+  private incomingSubject = new Subject<any>();
+  readonly incoming$ = this.incomingSubject.asObservable();
+
   getAll(): Observable<any> {
     return this.http.get(`${BASE_URL}/notifications`);
   }
@@ -31,4 +43,63 @@ export class NotificationsService {
   delete(notificationId: number): Observable<any> {
     return this.http.delete(`${BASE_URL}/notifications/${notificationId}`);
   }
+
+  // EventSource can't send the Authorization header: trade the token for a one-time ticket
+  connect(): void {
+    this.connected = true;
+    if (this.source || this.retryTimer) return;
+
+    this.http.post<any>(`${BASE_URL}/notifications/stream/ticket`, {}).subscribe({
+      next: (res) => this.open(res?.data?.ticket),
+      error: () => this.scheduleReconnect(),
+    });
+  }
+
+  disconnect(): void {
+    this.connected = false;
+    if (this.retryTimer) {
+      clearTimeout(this.retryTimer);
+      this.retryTimer = null;
+    }
+    this.source?.close();
+    this.source = null;
+    this.unreadCount.set(0);
+  }
+
+  private open(ticket: string | undefined): void {
+    if (!this.connected || !ticket) {
+      this.scheduleReconnect();
+      return;
+    }
+
+    const source = new EventSource(
+      `${BASE_URL}/notifications/stream?ticket=${encodeURIComponent(ticket)}`,
+    );
+    source.addEventListener('unread-count', (e) =>
+      this.unreadCount.set(Number((e as MessageEvent).data)),
+    );
+    source.addEventListener('unread-delta', (e) =>
+      this.unreadCount.update((n) => n + Number((e as MessageEvent).data)),
+    );
+    source.addEventListener('notification', (e) =>
+      this.incomingSubject.next(JSON.parse((e as MessageEvent).data)),
+    );
+    // The ticket is single-use, so the browser's own reconnect would be rejected
+    source.onerror = () => {
+      source.close();
+      if (this.source === source) {
+        this.source = null;
+        this.scheduleReconnect();
+      }
+    };
+    this.source = source;
+  }
+
+  private scheduleReconnect(): void {
+    if (!this.connected || this.retryTimer) return;
+    this.retryTimer = setTimeout(() => {
+      this.retryTimer = null;
+      this.connect();
+    }, STREAM_RETRY_MS);
+  }
 }